@@ -24,19 +24,23 @@
 package app.lsgui.gui.main;
 
 import java.io.IOException;
-import java.util.Iterator;
-import java.util.Map;
+import java.net.ResponseCache;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import app.lsgui.model.IChannel;
 import app.lsgui.model.twitch.TwitchService;
 import app.lsgui.remote.GithubUpdateService;
 import app.lsgui.remote.HttpClientInterface;
-import app.lsgui.remote.twitch.TwitchChannelUpdateService;
+import app.lsgui.remote.twitch.TwitchAPIClient;
+import app.lsgui.remote.twitch.TwitchUserIdCache;
+import app.lsgui.utils.ImageCache;
+import app.lsgui.utils.ImageDiskCache;
 import app.lsgui.utils.LsGuiUtils;
 import app.lsgui.utils.Settings;
+import app.lsgui.utils.TaskScheduler;
+import app.lsgui.utils.TaskScheduler.Priority;
+import app.lsgui.utils.TwitchUtils;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
@@ -70,13 +74,33 @@ public class LsGuiWindow extends Application {
         });
         Platform.setImplicitExit(false);
         Settings.getInstance();
+        LOGGER.debug("Settings loaded {}ms after start", LsGuiUtils.millisSinceStart());
     }
 
     @Override
     public final void start(Stage primaryStage) {
         final Parent root = this.loadFxml();
         this.setupStage(root, primaryStage);
-        GithubUpdateService.checkForUpdate();
+        Platform.runLater(() -> LOGGER.info("Window interactive {}ms after start", LsGuiUtils.millisSinceStart()));
+        bootstrapInBackground();
+    }
+
+    /**
+     * The window is shown with the channel list from the settings right away.
+     * The first status poll was requested while the settings were loaded, the
+     * HTTP client warm-up, the caches and the update check run in parallel to
+     * it in the background.
+     */
+    private static void bootstrapInBackground() {
+        final TaskScheduler scheduler = TaskScheduler.getInstance();
+        scheduler.submit(Priority.USER, () -> TwitchAPIClient.getInstance().warmUp());
+        scheduler.submit(Priority.REFRESH, () -> {
+            TwitchUserIdCache.getInstance();
+            // Images loaded by JavaFX from http URLs go through the default ResponseCache of the JVM
+            ResponseCache.setDefault(ImageDiskCache.getInstance());
+            LOGGER.debug("Caches loaded {}ms after start", LsGuiUtils.millisSinceStart());
+        });
+        scheduler.submit(Priority.UPDATE_CHECK, GithubUpdateService::checkForUpdate);
     }
 
     private Parent loadFxml() {
@@ -106,30 +130,32 @@ public class LsGuiWindow extends Application {
 
         primaryStage.setOnCloseRequest(event -> {
             Settings.getInstance().saveSettings();
-            Iterator<Map.Entry<IChannel, TwitchChannelUpdateService>> it = ((TwitchService) Settings.getInstance()
-                    .servicesProperty().get(0)).getUpdateServices().entrySet().iterator();
-            while (it.hasNext()) {
-                it.next();
-                it.remove();
-            }
+            TwitchUserIdCache.getInstance().save();
+            ImageDiskCache.getInstance().save();
+            LOGGER.debug("Image cache: {}", ImageCache.getInstance());
+            stopBackgroundTasks();
             HttpClientInterface.stopClient();
             Platform.exit();
         });
 
         primaryStage.setOnHiding(event -> {
             Settings.getInstance().saveSettings();
-            Iterator<Map.Entry<IChannel, TwitchChannelUpdateService>> it = ((TwitchService) Settings.getInstance()
-                    .servicesProperty().get(0)).getUpdateServices().entrySet().iterator();
-            while (it.hasNext()) {
-                it.next();
-                it.remove();
-            }
+            TwitchUserIdCache.getInstance().save();
+            ImageDiskCache.getInstance().save();
+            LOGGER.debug("Image cache: {}", ImageCache.getInstance());
+            stopBackgroundTasks();
             HttpClientInterface.stopClient();
             Platform.exit();
         });
         LsGuiWindow.getRootStage().getScene().getStylesheets().add(Settings.getInstance().getCurrentStyleSheet());
     }
 
+    private static void stopBackgroundTasks() {
+        Settings.getInstance().servicesProperty().stream().filter(TwitchUtils::isTwitchService)
+                .forEach(service -> ((TwitchService) service).getUpdateService().cancel());
+        TaskScheduler.getInstance().shutdown();
+    }
+
     public static final synchronized Stage getRootStage() {
         return rootstage;
     }
@@ -31,6 +31,7 @@ import app.lsgui.utils.BrowserCore;
 import app.lsgui.utils.Settings;
 import de.jensd.fx.glyphs.GlyphsDude;
 import de.jensd.fx.glyphs.fontawesome.FontAwesomeIcon;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ListProperty;
@@ -49,6 +50,7 @@ import javafx.scene.control.TextField;
 import javafx.scene.control.ToolBar;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.VBox;
+import javafx.util.Duration;
 
 /**
  *
@@ -58,6 +60,7 @@ import javafx.scene.layout.VBox;
 public final class BrowserController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BrowserController.class);
+    private static final Duration FILTER_DELAY = Duration.millis(200);
     private static final int PROGRESS_BAR_MIN_HEIGHT = 20;
 
     @FXML
@@ -131,11 +134,9 @@ public final class BrowserController {
         final Button refreshButton = GlyphsDude.createIconButton(FontAwesomeIcon.REFRESH);
         refreshButton.setOnAction(event -> this.browserCore.refresh());
 
-        this.searchTextField.textProperty().addListener((obs, oldValue, newValue) -> {
-            if (!"".equals(newValue)) {
-                this.browserCore.filter(newValue);
-            }
-        });
+        final PauseTransition filterDelay = new PauseTransition(FILTER_DELAY);
+        filterDelay.setOnFinished(event -> this.browserCore.filter(this.searchTextField.getText()));
+        this.searchTextField.textProperty().addListener((obs, oldValue, newValue) -> filterDelay.playFromStart());
         final Label searchLabel = new Label("Filter");
         final ComboBox<String> favouriteGameComboBox = new ComboBox<>();
         final ListProperty<String> favouriteGames = Settings.getInstance().favouriteGamesProperty();
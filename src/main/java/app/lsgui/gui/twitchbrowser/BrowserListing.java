@@ -0,0 +1,147 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.gui.twitchbrowser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The filter and paging state of a {@link BrowserTab}, kept apart from the
+ * JavaFX controls. Items are compared by their filter key, which is computed
+ * once per item and cached until {@link #clearFilterKeys()}.
+ */
+final class BrowserListing<T> {
+
+    static final double PREFETCH_POSITION = 0.8D;
+
+    enum FilterChange {
+        UNCHANGED, NARROWED, CHANGED
+    }
+
+    private final Function<? super T, String> keyFunction;
+    private final Map<T, String> filterKeys = new IdentityHashMap<>();
+    private String filter = "";
+    private int nextOffset;
+    private boolean hasMoreItems;
+
+    BrowserListing(final Function<? super T, String> keyFunction) {
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * Sets the filter, which is matched ignoring case.
+     *
+     * @return NARROWED if the new filter extends the previous one, so only
+     *         items matching the previous filter can match the new one
+     */
+    FilterChange setFilter(final String newFilter) {
+        final String normalizedFilter = newFilter == null ? "" : newFilter.trim().toLowerCase(Locale.ENGLISH);
+        if (normalizedFilter.equals(this.filter)) {
+            return FilterChange.UNCHANGED;
+        }
+        final boolean narrowsFilter = normalizedFilter.startsWith(this.filter);
+        this.filter = normalizedFilter;
+        return narrowsFilter ? FilterChange.NARROWED : FilterChange.CHANGED;
+    }
+
+    boolean matches(final T item) {
+        return this.filter.isEmpty() || this.getFilterKey(item).contains(this.filter);
+    }
+
+    List<T> matching(final Collection<? extends T> items) {
+        final List<T> matchingItems = new ArrayList<>();
+        for (final T item : items) {
+            if (this.matches(item)) {
+                matchingItems.add(item);
+            }
+        }
+        return matchingItems;
+    }
+
+    /**
+     * Drops the cached filter keys, e.g. after the items were replaced.
+     */
+    void clearFilterKeys() {
+        this.filterKeys.clear();
+    }
+
+    /**
+     * Starts the listing over with its first page.
+     */
+    void firstPage(final List<? extends T> page) {
+        this.nextOffset = page.size();
+        this.hasMoreItems = !page.isEmpty();
+    }
+
+    /**
+     * Advances the listing past the next page. An empty page ends the
+     * listing. Only loaded pages are passed in, after a failed load the
+     * listing stays as it is and the same page is requested again.
+     *
+     * @return the items of the page which are not shown yet, the listing may
+     *         have shifted since the last page was loaded
+     */
+    List<T> nextPage(final Collection<? extends T> shownItems, final List<? extends T> page) {
+        this.nextOffset += page.size();
+        this.hasMoreItems = !page.isEmpty();
+        final Set<String> knownKeys = new HashSet<>();
+        shownItems.forEach(item -> knownKeys.add(this.getFilterKey(item)));
+        final List<T> newItems = new ArrayList<>();
+        for (final T item : page) {
+            if (knownKeys.add(this.getFilterKey(item))) {
+                newItems.add(item);
+            }
+        }
+        return newItems;
+    }
+
+    int getNextOffset() {
+        return this.nextOffset;
+    }
+
+    boolean hasMoreItems() {
+        return this.hasMoreItems;
+    }
+
+    /**
+     * @return true if there are more items and the scroll bar is hidden, i.e.
+     *         all items fit on the screen, or scrolled past
+     *         {@value #PREFETCH_POSITION} of its range
+     */
+    boolean isNearEnd(final boolean scrollBarVisible, final double scrollValue, final double scrollMax) {
+        return this.hasMoreItems && (!scrollBarVisible || scrollValue >= scrollMax * PREFETCH_POSITION);
+    }
+
+    private String getFilterKey(final T item) {
+        return this.filterKeys.computeIfAbsent(item, this.keyFunction);
+    }
+
+}
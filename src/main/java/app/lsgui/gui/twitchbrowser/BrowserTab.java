@@ -23,76 +23,152 @@
  */
 package app.lsgui.gui.twitchbrowser;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.controlsfx.control.GridView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import app.lsgui.model.twitch.ITwitchItem;
+import app.lsgui.model.twitch.TwitchChannel;
+import app.lsgui.model.twitch.TwitchGame;
+import javafx.application.Platform;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ListProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleListProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
-import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
 import javafx.scene.Node;
-import javafx.scene.control.ScrollPane;
-import javafx.scene.control.ScrollPane.ScrollBarPolicy;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.ScrollBar;
 import javafx.scene.control.Tab;
-import javafx.scene.layout.BorderPane;
-import javafx.scene.layout.TilePane;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
 
+/**
+ * Tab of the Twitch browser. The items are shown in a virtualized grid which
+ * only creates cells for the visible rows and reuses them while scrolling.
+ */
 public final class BrowserTab extends Tab {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BrowserTab.class);
     private static final double ITEM_GAP = 15.0D;
-    private static final int PREFERED_COLUMNS = 5;
 
     private ListProperty<ITwitchItem> items = new SimpleListProperty<>(FXCollections.observableArrayList());
     private ListProperty<ITwitchItem> activeItems = new SimpleListProperty<>(FXCollections.observableArrayList());
-    private ScrollPane content;
+    private BooleanProperty loading = new SimpleBooleanProperty();
+    private volatile boolean isClosed;
+    private GridView<ITwitchItem> content;
+    private final BrowserListing<ITwitchItem> listing = new BrowserListing<>(BrowserTab::toFilterKey);
+    private ScrollBar verticalScrollBar;
+    private Runnable onNearEnd = () -> {
+    };
 
     public BrowserTab(final String name) {
         super(name);
         this.content = this.buildContent();
-        setContent(this.content);
+        final ProgressIndicator loadingIndicator = new ProgressIndicator();
+        loadingIndicator.visibleProperty().bind(this.loading);
+        loadingIndicator.setMouseTransparent(true);
+        loadingIndicator.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        setContent(new StackPane(this.content, loadingIndicator));
+        tabPaneProperty().addListener((observable, oldValue, newValue) -> this.isClosed = newValue == null);
+        this.items.addListener((ListChangeListener.Change<? extends ITwitchItem> c) -> {
+            final List<ITwitchItem> appendedItems = new ArrayList<>();
+            boolean onlyAppended = true;
+            while (c.next()) {
+                if (c.wasRemoved() || c.wasPermutated() || c.getFrom() < this.items.size() - c.getAddedSize()) {
+                    onlyAppended = false;
+                } else if (c.wasAdded()) {
+                    appendedItems.addAll(c.getAddedSubList());
+                }
+            }
+            if (onlyAppended) {
+                this.activeItems.addAll(this.listing.matching(appendedItems));
+            } else {
+                this.listing.clearFilterKeys();
+                this.refilter();
+            }
+            Platform.runLater(this::checkNearEnd);
+        });
         LOGGER.trace("Created Browsertab for: {}", name);
     }
 
-    public ScrollPane getCustomContent() {
+    public GridView<ITwitchItem> getCustomContent() {
         return this.content;
     }
 
-    private ScrollPane buildContent() {
-        final ScrollPane scrollPane = new ScrollPane();
-        scrollPane.setHbarPolicy(ScrollBarPolicy.NEVER);
-        scrollPane.setVbarPolicy(ScrollBarPolicy.ALWAYS);
-        scrollPane.setFitToHeight(true);
-        scrollPane.setFitToWidth(true);
-
-        final TilePane pane = new TilePane();
-        pane.setOnScroll(scrollEvent -> {
-            final double deltaY = scrollEvent.getDeltaY() * 2.0D;
-            final double height = BrowserTab.this.getCustomContent().getBoundsInLocal().getHeight();
-            final double vValue = BrowserTab.this.getCustomContent().getVvalue();
-            BrowserTab.this.getCustomContent().setVvalue(vValue - deltaY / height);
+    private GridView<ITwitchItem> buildContent() {
+        final GridView<ITwitchItem> gridView = new GridView<>();
+        gridView.setCellFactory(grid -> new TwitchItemCell());
+        gridView.setCellWidth(TwitchItemPane.WIDTH);
+        gridView.setHorizontalCellSpacing(ITEM_GAP / 2);
+        gridView.setVerticalCellSpacing(ITEM_GAP / 2);
+        gridView.setPadding(new Insets(ITEM_GAP));
+        gridView.itemsProperty().bind(this.activeItemsProperty());
+        gridView.skinProperty().addListener((observable, oldValue, newValue) -> Platform.runLater(() -> {
+            for (final Node node : gridView.lookupAll(".scroll-bar")) {
+                if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.VERTICAL) {
+                    this.verticalScrollBar = (ScrollBar) node;
+                    this.verticalScrollBar.valueProperty().addListener(value -> this.checkNearEnd());
+                    this.verticalScrollBar.visibleProperty().addListener(visible -> this.checkNearEnd());
+                }
+            }
+        }));
+        this.activeItemsProperty().addListener((ListChangeListener.Change<? extends ITwitchItem> c) -> {
+            if (!this.activeItemsProperty().isEmpty()) {
+                gridView.setCellHeight(TwitchItemPane.getTileHeight(this.activeItemsProperty().get(0)));
+            }
         });
-        pane.setPrefColumns(PREFERED_COLUMNS);
-        pane.setVgap(ITEM_GAP);
-        pane.setHgap(ITEM_GAP);
-        pane.setPadding(new Insets(ITEM_GAP));
-        this.activeItemsProperty().addListener((ListChangeListener.Change<? extends ITwitchItem> c) -> pane
-                .getChildren().setAll(convertToNodeList(this.activeItemsProperty().get())));
-        scrollPane.setContent(pane);
-        return scrollPane;
+        return gridView;
+    }
+
+    /**
+     * Replaces the items of the tab with the first page of a paged listing.
+     */
+    public void setFirstPage(final List<? extends ITwitchItem> page) {
+        this.listing.firstPage(page);
+        this.items.setAll(page);
+    }
+
+    /**
+     * Appends the next page of the listing. Items already shown, because the
+     * listing shifted since the last page, are skipped.
+     */
+    public void appendPage(final List<? extends ITwitchItem> page) {
+        this.items.addAll(this.listing.nextPage(this.items, page));
     }
 
-    private static ObservableList<Node> convertToNodeList(final ObservableList<ITwitchItem> items) {
-        final ObservableList<Node> list = FXCollections.observableArrayList();
-        items.stream().forEach(item -> list.add(convertToBorderPane(item)));
-        return list;
+    public int getNextOffset() {
+        return this.listing.getNextOffset();
     }
 
-    private static BorderPane convertToBorderPane(final ITwitchItem item) {
-        return new TwitchItemPane(item);
+    public boolean hasMoreItems() {
+        return this.listing.hasMoreItems();
+    }
+
+    /**
+     * Sets the action to run when the user scrolled near the end of the items
+     * or all items fit on the screen.
+     */
+    public void setOnNearEnd(final Runnable onNearEnd) {
+        this.onNearEnd = onNearEnd;
+    }
+
+    private void checkNearEnd() {
+        final ScrollBar scrollBar = this.verticalScrollBar;
+        if (scrollBar != null && !this.loading.get()
+                && this.listing.isNearEnd(scrollBar.isVisible(), scrollBar.getValue(), scrollBar.getMax())) {
+            this.onNearEnd.run();
+        }
     }
 
     public ListProperty<ITwitchItem> itemsProperty() {
@@ -103,7 +179,49 @@ public final class BrowserTab extends Tab {
         return this.activeItems;
     }
 
+    public BooleanProperty loadingProperty() {
+        return this.loading;
+    }
+
+    /**
+     * @return true once the tab was closed. Safe to call from any thread.
+     */
+    public boolean isClosed() {
+        return this.isClosed;
+    }
+
     public void resetActiveItems() {
-        this.activeItemsProperty().set(this.itemsProperty().get());
+        this.filter("");
+    }
+
+    /**
+     * Shows only the items whose name contains the filter, ignoring case. A
+     * filter extending the previous one only removes items from the ones shown
+     * instead of scanning all items again.
+     */
+    public void filter(final String newFilter) {
+        final BrowserListing.FilterChange change = this.listing.setFilter(newFilter);
+        if (change == BrowserListing.FilterChange.NARROWED) {
+            final Set<ITwitchItem> matchingItems = Collections.newSetFromMap(new IdentityHashMap<>());
+            matchingItems.addAll(this.listing.matching(this.activeItems));
+            if (matchingItems.size() < this.activeItems.size()) {
+                this.activeItems.retainAll(matchingItems);
+            }
+        } else if (change == BrowserListing.FilterChange.CHANGED) {
+            this.refilter();
+        }
+    }
+
+    private void refilter() {
+        this.activeItems.setAll(this.listing.matching(this.items));
+    }
+
+    private static String toFilterKey(final ITwitchItem item) {
+        if (item instanceof TwitchGame) {
+            return ((TwitchGame) item).getName().get().toLowerCase(Locale.ENGLISH);
+        } else if (item instanceof TwitchChannel) {
+            return ((TwitchChannel) item).getName().get().toLowerCase(Locale.ENGLISH);
+        }
+        return "";
     }
 }
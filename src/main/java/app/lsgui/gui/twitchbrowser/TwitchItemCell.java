@@ -0,0 +1,49 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.gui.twitchbrowser;
+
+import org.controlsfx.control.GridCell;
+
+import app.lsgui.model.twitch.ITwitchItem;
+
+/**
+ * Grid cell of the Twitch browser. The cell keeps its {@link TwitchItemPane}
+ * and rebinds it whenever the grid reuses the cell for another item.
+ */
+public final class TwitchItemCell extends GridCell<ITwitchItem> {
+
+    private final TwitchItemPane itemPane = new TwitchItemPane();
+
+    @Override
+    protected void updateItem(final ITwitchItem item, final boolean isEmpty) {
+        super.updateItem(item, isEmpty);
+        if (isEmpty || item == null) {
+            this.itemPane.setItem(null);
+            setGraphic(null);
+        } else {
+            this.itemPane.setItem(item);
+            setGraphic(this.itemPane);
+        }
+    }
+}
@@ -30,11 +30,12 @@ import app.lsgui.model.twitch.TwitchGame;
 import app.lsgui.utils.BrowserCore;
 import app.lsgui.utils.LsGuiUtils;
 import app.lsgui.utils.Settings;
+import app.lsgui.utils.TwitchUtils;
 import de.jensd.fx.glyphs.GlyphsDude;
 import de.jensd.fx.glyphs.fontawesome.FontAwesomeIcon;
-import javafx.beans.property.DoubleProperty;
-import javafx.beans.property.SimpleDoubleProperty;
-import javafx.scene.Node;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.property.StringProperty;
 import javafx.scene.control.ContextMenu;
 import javafx.scene.control.Label;
 import javafx.scene.control.MenuItem;
@@ -45,90 +46,141 @@ import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.VBox;
 
+/**
+ * Tile of the Twitch browser. A tile is reused for other items while the
+ * user scrolls, {@link #setItem(ITwitchItem)} rebinds it to the new item.
+ */
 public final class TwitchItemPane extends BorderPane {
 
-    private static final DoubleProperty HEIGHT_PROPERTY = new SimpleDoubleProperty();
-    private static final DoubleProperty WIDTH_PROPERTY = new SimpleDoubleProperty(150);
+    public static final double WIDTH = TwitchUtils.THUMBNAIL_WIDTH;
     private static final int BOTTOM_OFFSET = 40;
     private static final double RATIO_GAME = 1.4D;
     private static final double RATIO_CHANNEL = 0.5625D;
-    private static final double HEIGHT_GAME = WIDTH_PROPERTY.get() * RATIO_GAME;
-    private static final double HEIGHT_CHANNEL = WIDTH_PROPERTY.get() * RATIO_CHANNEL;
+    private static final double HEIGHT_GAME = WIDTH * RATIO_GAME;
+    private static final double HEIGHT_CHANNEL = WIDTH * RATIO_CHANNEL;
 
-    public TwitchItemPane(final ITwitchItem item) {
-        if (item instanceof TwitchGame) {
-            final TwitchGame game = (TwitchGame) item;
-            this.createGameBorderPane(game);
-            HEIGHT_PROPERTY.set(HEIGHT_GAME + BOTTOM_OFFSET);
-        } else if (item instanceof TwitchChannel) {
-            final TwitchChannel channel = (TwitchChannel) item;
-            this.createChannelBorderPane(channel);
-            HEIGHT_PROPERTY.set(HEIGHT_CHANNEL + BOTTOM_OFFSET);
-        }
-    }
+    private final ImageView imageView = new ImageView();
+    private final Label nameLabel = new Label();
+    private final Label firstInfoLabel = new Label();
+    private final Label secondInfoLabel = new Label();
+    private final Tooltip titleTooltip = new Tooltip();
+    private final InvalidationListener imageUrlListener = observable -> this.loadImage();
+    private final WeakInvalidationListener weakImageUrlListener = new WeakInvalidationListener(this.imageUrlListener);
+    private StringProperty imageUrl;
+    private ITwitchItem item;
+    private Boolean showsGame;
 
-    private void createGameBorderPane(final TwitchGame game) {
-        final ImageView gameImage = new ImageView();
-        gameImage.imageProperty().bind(game.getBoxImage());
-        gameImage.setFitWidth(WIDTH_PROPERTY.get());
-        gameImage.setFitHeight(HEIGHT_GAME);
-        final Label nameLabel = new Label();
-        nameLabel.setTooltip(new Tooltip("Name of Category"));
-        nameLabel.textProperty().bind(game.getShortName());
-        nameLabel.setGraphic(GlyphsDude.createIcon(FontAwesomeIcon.GAMEPAD));
-        final Label viewersLabel = new Label();
-        viewersLabel.setTooltip(new Tooltip("Amount of Viewers"));
-        viewersLabel.textProperty().bind(game.getViewers());
-        viewersLabel.setGraphic(GlyphsDude.createIcon(FontAwesomeIcon.GROUP));
-        final Label channelLabel = new Label();
-        channelLabel.setTooltip(new Tooltip("Amount of Channels"));
-        channelLabel.textProperty().bind(game.getChannelCount());
-        channelLabel.setGraphic(GlyphsDude.createIcon(FontAwesomeIcon.USER));
-        final VBox textBox = new VBox(nameLabel, viewersLabel, channelLabel);
-        this.setCenter(gameImage);
-        this.setBottom(textBox);
+    public TwitchItemPane() {
+        this.imageView.setFitWidth(WIDTH);
+        this.nameLabel.setGraphic(GlyphsDude.createIcon(FontAwesomeIcon.GAMEPAD));
+        this.setCenter(this.imageView);
+        this.setBottom(new VBox(this.nameLabel, this.firstInfoLabel, this.secondInfoLabel));
         this.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> {
-            if (event.getButton() == MouseButton.PRIMARY) {
-                BrowserCore.getInstance().openGame(game.getName().get());
-            } else if (event.getButton() == MouseButton.SECONDARY) {
-                this.showContextMenu(game, event.getScreenX(), event.getScreenY());
+            if (this.item instanceof TwitchGame) {
+                this.onGameClicked((TwitchGame) this.item, event);
+            } else if (this.item instanceof TwitchChannel) {
+                this.onChannelClicked((TwitchChannel) this.item, event);
             }
             event.consume();
         });
     }
 
-    private void createChannelBorderPane(final TwitchChannel channel) {
-        final ImageView channelImage = new ImageView();
-        channelImage.imageProperty().bind(channel.getPreviewImageMedium());
-        channelImage.setFitWidth(WIDTH_PROPERTY.get());
-        channelImage.setFitHeight(HEIGHT_CHANNEL);
-        final Label nameLabel = new Label();
-        nameLabel.setTooltip(new Tooltip("Name of the Channel"));
-        nameLabel.textProperty().bind(channel.getDisplayName());
-        nameLabel.setGraphic(GlyphsDude.createIcon(FontAwesomeIcon.GAMEPAD));
-        final Label viewersLabel = new Label();
-        viewersLabel.setTooltip(new Tooltip("Amount of Viewers"));
-        viewersLabel.textProperty().bind(channel.getViewersString());
-        viewersLabel.setGraphic(GlyphsDude.createIcon(FontAwesomeIcon.USER));
-        final Label uptimeLabel = new Label();
-        uptimeLabel.setTooltip(new Tooltip("Uptime of the Channel"));
-        uptimeLabel.textProperty().bind(channel.getUptimeString());
-        uptimeLabel.setGraphic(GlyphsDude.createIcon(FontAwesomeIcon.CLOCK_ALT));
-        final VBox textBox = new VBox(nameLabel, viewersLabel, uptimeLabel);
-        this.setCenter(channelImage);
-        this.setBottom(textBox);
-        final Tooltip titleTooltip = new Tooltip();
-        titleTooltip.textProperty().bind(channel.getTitle());
-        final Node node = this;
-        Tooltip.install(node, titleTooltip);
-        this.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> {
-            if (event.getButton() == MouseButton.PRIMARY) {
-                BrowserCore.getInstance().startStream(channel.getName().get());
-            } else if (event.getButton() == MouseButton.SECONDARY) {
-                this.showContextMenu(channel, event.getScreenX(), event.getScreenY());
-            }
-            event.consume();
-        });
+    /**
+     * @return the height of a tile showing the item
+     */
+    public static double getTileHeight(final ITwitchItem item) {
+        if (item instanceof TwitchGame) {
+            return HEIGHT_GAME + BOTTOM_OFFSET;
+        }
+        return HEIGHT_CHANNEL + BOTTOM_OFFSET;
+    }
+
+    /**
+     * Binds the tile to the item and loads its image. Null clears the tile.
+     */
+    public void setItem(final ITwitchItem newItem) {
+        this.unbind();
+        this.item = newItem;
+        if (newItem instanceof TwitchGame) {
+            this.bindToGame((TwitchGame) newItem);
+        } else if (newItem instanceof TwitchChannel) {
+            this.bindToChannel((TwitchChannel) newItem);
+        }
+        this.loadImage();
+    }
+
+    private void unbind() {
+        if (this.imageUrl != null) {
+            this.imageUrl.removeListener(this.weakImageUrlListener);
+            this.imageUrl = null;
+        }
+        this.nameLabel.textProperty().unbind();
+        this.firstInfoLabel.textProperty().unbind();
+        this.secondInfoLabel.textProperty().unbind();
+        this.titleTooltip.textProperty().unbind();
+    }
+
+    private void loadImage() {
+        if (this.imageUrl == null) {
+            this.imageView.setImage(null);
+        } else if (this.item instanceof TwitchGame) {
+            this.imageView.setImage(TwitchUtils.loadBoxArt(this.imageUrl.get()));
+        } else {
+            this.imageView.setImage(TwitchUtils.loadPreviewThumbnail(this.imageUrl.get()));
+        }
+    }
+
+    private void bindToGame(final TwitchGame game) {
+        if (!Boolean.TRUE.equals(this.showsGame)) {
+            this.showsGame = Boolean.TRUE;
+            this.imageView.setFitHeight(HEIGHT_GAME);
+            this.nameLabel.setTooltip(new Tooltip("Name of Category"));
+            this.firstInfoLabel.setTooltip(new Tooltip("Amount of Viewers"));
+            this.firstInfoLabel.setGraphic(GlyphsDude.createIcon(FontAwesomeIcon.GROUP));
+            this.secondInfoLabel.setTooltip(new Tooltip("Amount of Channels"));
+            this.secondInfoLabel.setGraphic(GlyphsDude.createIcon(FontAwesomeIcon.USER));
+            Tooltip.uninstall(this, this.titleTooltip);
+        }
+        this.nameLabel.textProperty().bind(game.getShortName());
+        this.firstInfoLabel.textProperty().bind(game.getViewers());
+        this.secondInfoLabel.textProperty().bind(game.getChannelCount());
+        this.imageUrl = game.getBoxImageUrl();
+        this.imageUrl.addListener(this.weakImageUrlListener);
+    }
+
+    private void bindToChannel(final TwitchChannel channel) {
+        if (!Boolean.FALSE.equals(this.showsGame)) {
+            this.showsGame = Boolean.FALSE;
+            this.imageView.setFitHeight(HEIGHT_CHANNEL);
+            this.nameLabel.setTooltip(new Tooltip("Name of the Channel"));
+            this.firstInfoLabel.setTooltip(new Tooltip("Amount of Viewers"));
+            this.firstInfoLabel.setGraphic(GlyphsDude.createIcon(FontAwesomeIcon.USER));
+            this.secondInfoLabel.setTooltip(new Tooltip("Uptime of the Channel"));
+            this.secondInfoLabel.setGraphic(GlyphsDude.createIcon(FontAwesomeIcon.CLOCK_ALT));
+            Tooltip.install(this, this.titleTooltip);
+        }
+        this.nameLabel.textProperty().bind(channel.getDisplayName());
+        this.firstInfoLabel.textProperty().bind(channel.getViewersString());
+        this.secondInfoLabel.textProperty().bind(channel.getUptimeString());
+        this.titleTooltip.textProperty().bind(channel.getTitle());
+        this.imageUrl = channel.getPreviewUrlMedium();
+        this.imageUrl.addListener(this.weakImageUrlListener);
+    }
+
+    private void onGameClicked(final TwitchGame game, final MouseEvent event) {
+        if (event.getButton() == MouseButton.PRIMARY) {
+            BrowserCore.getInstance().openGame(game.getName().get());
+        } else if (event.getButton() == MouseButton.SECONDARY) {
+            this.showContextMenu(game, event.getScreenX(), event.getScreenY());
+        }
+    }
+
+    private void onChannelClicked(final TwitchChannel channel, final MouseEvent event) {
+        if (event.getButton() == MouseButton.PRIMARY) {
+            BrowserCore.getInstance().startStream(channel.getName().get());
+        } else if (event.getButton() == MouseButton.SECONDARY) {
+            this.showContextMenu(channel, event.getScreenX(), event.getScreenY());
+        }
     }
 
     private void showContextMenu(final TwitchChannel channel, final double xPos, final double yPos) {
@@ -23,6 +23,8 @@
  */
 package app.lsgui.model;
 
+import java.util.Collection;
+
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.StringProperty;
 import javafx.collections.transformation.SortedList;
@@ -42,6 +44,11 @@ public interface IService {
 
     void addChannel(final String channelName);
 
+    /**
+     * Adds all channels with a single change of the channel list.
+     */
+    void addChannels(final Collection<String> channelNames);
+
     void removeChannel(final IChannel channel);
 
 }
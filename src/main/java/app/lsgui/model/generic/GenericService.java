@@ -23,6 +23,10 @@
  */
 package app.lsgui.model.generic;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -77,6 +81,14 @@ public final class GenericService implements IService {
         this.channelList.add(channelToAdd);
     }
 
+    @Override
+    public void addChannels(final Collection<String> channelNames) {
+        LOGGER.debug("Adding {} Channels to Service {}", channelNames.size(), this.getName().get());
+        final List<IChannel> channelsToAdd = new ArrayList<>(channelNames.size());
+        channelNames.forEach(channelName -> channelsToAdd.add(new GenericChannel(channelName)));
+        this.channelList.addAll(channelsToAdd);
+    }
+
     @Override
     public void removeChannel(final IChannel channel) {
         if (channel instanceof GenericChannel) {
@@ -27,7 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import app.lsgui.model.IChannel;
-import app.lsgui.utils.LsGuiUtils;
+import app.lsgui.remote.twitch.TwitchStream;
 import app.lsgui.utils.TwitchUtils;
 import javafx.beans.Observable;
 import javafx.beans.property.BooleanProperty;
@@ -70,7 +70,6 @@ public final class TwitchChannel implements IChannel, ITwitchItem {
     private BooleanProperty isOnline = new SimpleBooleanProperty();
     private BooleanProperty isPlaylist = new SimpleBooleanProperty();
     private ObjectProperty<Image> previewImageLarge = new SimpleObjectProperty<>();
-    private ObjectProperty<Image> previewImageMedium = new SimpleObjectProperty<>();
     private ListProperty<String> availableQualities = new SimpleListProperty<>(FXCollections.observableArrayList());
     private BooleanProperty hasReminder = new SimpleBooleanProperty();
     private BooleanProperty isPartnered = new SimpleBooleanProperty();
@@ -82,11 +81,15 @@ public final class TwitchChannel implements IChannel, ITwitchItem {
         // Empty Constructor
     }
 
-    public void updateData(final TwitchChannel data, final boolean notify) {
-        if (data != null && data.isOnline().get()) {
+    /**
+     * Applies a stream snapshot from the network layer. Incomplete snapshots
+     * set the channel offline.
+     */
+    public void updateData(final TwitchStream data, final boolean notify) {
+        if (data != null && data.isComplete()) {
             this.setOnline(data);
-        } else if (data != null && !data.isOnline().get()) {
-            this.setOffline(data.getName().get());
+        } else if (data != null) {
+            this.setOffline(data.getName());
         }
         this.displayNotification(notify);
     }
@@ -106,45 +109,22 @@ public final class TwitchChannel implements IChannel, ITwitchItem {
         TwitchUtils.setOfflineData(this, name);
     }
 
-    private void setOnline(final TwitchChannel data) {
-        LOGGER.debug("Set {} to online {}", data.getName().get(), data.isOnline().get());
-        this.id.setValue(data.getId().get());
-        this.name.setValue(data.getName().get());
-        this.displayName.setValue(data.displayNameProperty().get());
-        this.logoURL.setValue(data.getLogoURL().get());
-        this.previewUrlLarge.setValue(data.getPreviewUrlLarge().get());
-        this.previewUrlMedium.setValue(data.getPreviewUrlMedium().get());
-        this.game.setValue(data.getGame().get());
-        this.title.setValue(data.getTitle().get());
-        this.uptime.setValue(data.getUptime().get());
-        this.uptimeString.setValue(TwitchUtils.buildUptimeString(this.uptime.get()));
-        this.viewers.setValue(data.getViewers().get());
-        this.viewersString.setValue(Integer.toString(this.getViewers().get()));
-        if (data.isOnline().get() && !this.isOnline.get()) {
-            this.isOnline.setValue(Boolean.TRUE);
+    private void setOnline(final TwitchStream data) {
+        LOGGER.debug("Set {} to online", data.getName());
+        if (!this.isOnline.get()) {
             this.cameOnline = true;
-        } else if (!data.isOnline().get()) {
-            this.isOnline.setValue(Boolean.FALSE);
-        }
-        this.isPlaylist.setValue(data.getIsPlaylist().get());
-        this.previewImageLarge.setValue(data.getPreviewImageLarge().get());
-        this.previewImageMedium.setValue(data.getPreviewImageMedium().get());
-        this.availableQualities.clear();
-        this.availableQualities.addAll(data.getAvailableQualities());
-        if (this.getAvailableQualities().isEmpty() && !this.isBrowser()) {
-            this.getAvailableQualities().add(TwitchUtils.NO_QUALITIES);
-            LsGuiUtils.showWarningNotification(TwitchUtils.NO_QUALITIES,
-                    "Check your Twitch OAuth Key in the Settings!");
         }
+        TwitchUtils.setOnlineData(this, data);
     }
 
+    /**
+     * Only the properties the channel list sorts and labels by. Cells and the
+     * info panel bind to the other properties directly, so changes of viewers,
+     * uptime or title do not cause list updates.
+     */
     public static Callback<IChannel, Observable[]> extractor() {
         return (IChannel sm) -> new Observable[] { ((TwitchChannel) sm).getName(),
-                ((TwitchChannel) sm).displayNameProperty(), ((TwitchChannel) sm).getGame(),
-                ((TwitchChannel) sm).isOnline(), ((TwitchChannel) sm).getTitle(), ((TwitchChannel) sm).getLogoURL(),
-                ((TwitchChannel) sm).getPreviewImageLarge(), ((TwitchChannel) sm).getPreviewUrlLarge(),
-                ((TwitchChannel) sm).getPreviewUrlMedium(), ((TwitchChannel) sm).getUptime(),
-                ((TwitchChannel) sm).getViewers(), };
+                ((TwitchChannel) sm).displayNameProperty(), ((TwitchChannel) sm).isOnline(), };
     }
 
     public StringProperty displayNameProperty() {
@@ -193,10 +173,6 @@ public final class TwitchChannel implements IChannel, ITwitchItem {
         return this.previewImageLarge;
     }
 
-    public ObjectProperty<Image> getPreviewImageMedium() {
-        return this.previewImageMedium;
-    }
-
     @Override
     public ListProperty<String> getAvailableQualities() {
         return this.availableQualities;
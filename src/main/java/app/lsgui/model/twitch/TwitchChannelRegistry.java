@@ -0,0 +1,72 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.model.twitch;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import app.lsgui.utils.TwitchUtils;
+
+/**
+ * Index of the channels of a {@link TwitchService} by normalized login. The
+ * login is fixed when the channel is registered, so later changes of the name
+ * property do not corrupt the index.
+ */
+final class TwitchChannelRegistry {
+
+    private final Map<String, TwitchChannel> channelsByLogin = new HashMap<>();
+    private final Map<TwitchChannel, String> logins = new IdentityHashMap<>();
+
+    boolean contains(final String name) {
+        return this.channelsByLogin.containsKey(TwitchUtils.normalizeChannelName(name));
+    }
+
+    /**
+     * Returns the channel registered under the given name, or registers the
+     * channel created by the factory if there is none.
+     *
+     * @return null for an empty name
+     */
+    TwitchChannel computeIfAbsent(final String name, final Supplier<TwitchChannel> factory) {
+        final String login = TwitchUtils.normalizeChannelName(name);
+        if (login.isEmpty()) {
+            return null;
+        }
+        return this.channelsByLogin.computeIfAbsent(login, key -> {
+            final TwitchChannel channel = factory.get();
+            this.logins.put(channel, key);
+            return channel;
+        });
+    }
+
+    void unregister(final TwitchChannel channel) {
+        final String login = this.logins.remove(channel);
+        if (login != null) {
+            this.channelsByLogin.remove(login, channel);
+        }
+    }
+
+}
@@ -23,20 +23,22 @@
  */
 package app.lsgui.model.twitch;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-
 import app.lsgui.remote.twitch.TwitchBrowserUpdateService;
+import app.lsgui.remote.twitch.TwitchStream;
 import app.lsgui.utils.TwitchUtils;
 import javafx.beans.property.ListProperty;
 import javafx.beans.property.SimpleListProperty;
 import javafx.collections.FXCollections;
 
 /**
+ * One page of channels from a game listing. Channels whose listing entry was
+ * incomplete are fetched on their own once {@link #startUpdates()} is called.
  *
  * @author Niklas 26.06.2016
  *
@@ -44,28 +46,46 @@ import javafx.collections.FXCollections;
 public final class TwitchChannels {
     private static final Logger LOGGER = LoggerFactory.getLogger(TwitchChannels.class);
 
-    private JsonObject jsonData;
     private ListProperty<ITwitchItem> channels = new SimpleListProperty<>(FXCollections.observableArrayList());
+    private List<TwitchChannel> incompleteChannels = new ArrayList<>();
+    private List<TwitchBrowserUpdateService> updateServices = new ArrayList<>();
 
-    public TwitchChannels(final JsonObject jsonData) {
-        this.jsonData = jsonData;
-        this.addGames();
+    public TwitchChannels(final List<TwitchStream> streams) {
+        this.addGames(streams);
     }
 
-    private void addGames() {
-        final JsonArray streams = this.jsonData.get("streams").getAsJsonArray();
-        LOGGER.debug("Update {} channels", streams.size());
-        for (final JsonElement element : streams) {
-            final JsonObject object = element.getAsJsonObject();
-
-            final JsonObject channelObject = object.get("channel").getAsJsonObject();
-            final String name = channelObject.get("name").getAsString();
+    private void addGames(final List<TwitchStream> streams) {
+        LOGGER.debug("Add {} channels from listing", streams.size());
+        final List<ITwitchItem> listed = new ArrayList<>(streams.size());
+        for (final TwitchStream stream : streams) {
+            final String name = stream.getName();
+            // The listing already carries the full stream object, so the channel is built from it directly
+            final TwitchChannel channel = TwitchUtils.constructTwitchChannel(stream, name, true);
+            if (!stream.isComplete()) {
+                this.incompleteChannels.add(channel);
+            }
+            listed.add(channel);
+        }
+        this.channels.addAll(listed);
+    }
 
-            final TwitchChannel channel = TwitchUtils.constructTwitchChannel(new JsonObject(), name, true);
+    /**
+     * Starts fetching the channels with an incomplete listing entry. Must be
+     * called on the JavaFX thread.
+     */
+    public void startUpdates() {
+        LOGGER.debug("Start {} channel updates", this.incompleteChannels.size());
+        for (final TwitchChannel channel : this.incompleteChannels) {
             final TwitchBrowserUpdateService tcus = new TwitchBrowserUpdateService(channel);
             tcus.start();
-            this.channels.add(channel);
+            this.updateServices.add(tcus);
         }
+        this.incompleteChannels.clear();
+    }
+
+    public void cancelUpdates() {
+        LOGGER.debug("Cancel {} channel updates", this.updateServices.size());
+        this.updateServices.forEach(TwitchBrowserUpdateService::cancel);
     }
 
     public ListProperty<ITwitchItem> getChannels() {
@@ -24,11 +24,8 @@
 package app.lsgui.model.twitch;
 
 import app.lsgui.remote.twitch.TwitchAPIClient;
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
-import javafx.scene.image.Image;
 
 /**
  *
@@ -41,15 +38,15 @@ public final class TwitchGame implements ITwitchItem {
     private StringProperty shortName;
     private StringProperty viewers;
     private StringProperty channelCount;
-    private ObjectProperty<Image> boxImage;
+    private StringProperty boxImageUrl;
 
     private TwitchChannels channels;
 
-    public TwitchGame(final String name, final int viewers, final int channelCount, final Image boxImage) {
+    public TwitchGame(final String name, final int viewers, final int channelCount, final String boxImageUrl) {
         this.name = new SimpleStringProperty(name);
         this.shortName = new SimpleStringProperty(shortenString(name));
         this.viewers = new SimpleStringProperty(Integer.toString(viewers));
-        this.boxImage = new SimpleObjectProperty<>(boxImage);
+        this.boxImageUrl = new SimpleStringProperty(boxImageUrl);
         this.channelCount = new SimpleStringProperty(Integer.toString(channelCount));
     }
 
@@ -60,7 +57,7 @@ public final class TwitchGame implements ITwitchItem {
     public void updateData(final TwitchGame updatedGame) {
         this.name = new SimpleStringProperty(shortenString(updatedGame.getName().get()));
         this.viewers = new SimpleStringProperty(updatedGame.getViewers().get());
-        this.boxImage = new SimpleObjectProperty<>(updatedGame.getBoxImage().get());
+        this.boxImageUrl = new SimpleStringProperty(updatedGame.getBoxImageUrl().get());
         this.channelCount = new SimpleStringProperty(updatedGame.getChannelCount().get());
         this.loadChannelData();
     }
@@ -94,8 +91,8 @@ public final class TwitchGame implements ITwitchItem {
         return this.channelCount;
     }
 
-    public ObjectProperty<Image> getBoxImage() {
-        return this.boxImage;
+    public StringProperty getBoxImageUrl() {
+        return this.boxImageUrl;
     }
 
     @Override
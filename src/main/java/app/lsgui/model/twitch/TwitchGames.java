@@ -23,16 +23,15 @@
  */
 package app.lsgui.model.twitch;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-
+import app.lsgui.remote.twitch.TwitchTopGame;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.scene.image.Image;
 
 /**
  *
@@ -43,35 +42,19 @@ public final class TwitchGames {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TwitchGames.class);
 
-    private JsonObject jsonData;
     private ObservableList<ITwitchItem> games = FXCollections.observableArrayList();
 
-    public TwitchGames(final JsonObject jsonData) {
-        this.jsonData = jsonData;
-        this.games = FXCollections.observableArrayList();
-        this.addGames();
+    public TwitchGames(final List<TwitchTopGame> topGames) {
+        this.addGames(topGames);
     }
 
-    private void addGames() {
-        final JsonElement topElement = this.jsonData.get("top");
-        if (topElement != null) {
-            final JsonArray topArray = topElement.getAsJsonArray();
-            LOGGER.debug("Update {} games", topArray.size());
-            for (final JsonElement element : topArray) {
-                final JsonObject object = element.getAsJsonObject();
-                final int viewers = object.get("viewers").getAsInt();
-                final int channels = object.get("channels").getAsInt();
-
-                final JsonObject game = object.get("game").getAsJsonObject();
-                final String gameName = game.get("name").getAsString();
-
-                final JsonObject box = game.get("box").getAsJsonObject();
-                final String imageUrl = box.get("large").getAsString();
-                final Image boxImage = new Image(imageUrl, true);
-
-                this.games.add(new TwitchGame(gameName, viewers, channels, boxImage));
-            }
+    private void addGames(final List<TwitchTopGame> topGames) {
+        LOGGER.debug("Update {} games", topGames.size());
+        final List<ITwitchItem> listed = new ArrayList<>(topGames.size());
+        for (final TwitchTopGame game : topGames) {
+            listed.add(new TwitchGame(game.getName(), game.getViewers(), game.getChannels(), game.getBoxUrl()));
         }
+        this.games.addAll(listed);
     }
 
     public void updateData(final TwitchGames updatedGames) {
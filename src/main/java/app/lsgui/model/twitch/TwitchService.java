@@ -23,20 +23,22 @@
  */
 package app.lsgui.model.twitch;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.Set;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.JsonObject;
-
 import app.lsgui.model.IChannel;
 import app.lsgui.model.IService;
 import app.lsgui.remote.twitch.TwitchAPIClient;
 import app.lsgui.remote.twitch.TwitchChannelUpdateService;
 import app.lsgui.utils.Settings;
 import app.lsgui.utils.TwitchUtils;
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -44,9 +46,7 @@ import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.collections.FXCollections;
-import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
-import javafx.collections.ObservableMap;
 import javafx.collections.transformation.SortedList;
 
 /**
@@ -63,36 +63,48 @@ public final class TwitchService implements IService {
     private ObjectProperty<SortedList<IChannel>> channelProperty;
     private ObservableList<IChannel> channelList = FXCollections.observableArrayList(TwitchChannel.extractor());
     private BooleanProperty sortChannels;
-
-    private static final ObservableMap<IChannel, TwitchChannelUpdateService> UPDATESERVICES = FXCollections
-            .observableHashMap();
+    private TwitchChannelUpdateService updateService;
+    private final TwitchChannelRegistry registry = new TwitchChannelRegistry();
 
     public TwitchService(final String name, final String url) {
         this.name = new SimpleStringProperty(name);
         this.url = new SimpleStringProperty(url);
         this.channelProperty = new SimpleObjectProperty<>(new SortedList<>(this.channelList));
+        this.updateService = new TwitchChannelUpdateService(this.channelList);
         this.sortChannels = new SimpleBooleanProperty();
         this.sortChannels.bind(Settings.getInstance().sortTwitchProperty());
         this.sortChannels.addListener((observable, oldValue, newVale) -> this.changeComparator(newVale));
-        this.channelProperty.get().addListener((ListChangeListener<IChannel>) change -> {
-            change.next();
-            this.changeComparator(this.sortChannels.get());
-        });
+        this.changeComparator(this.sortChannels.get());
     }
 
     @Override
     public void addChannel(final String name) {
-        final boolean existsAlready = this.channelList.stream()
-                .anyMatch(channel -> channel.getName().get().equalsIgnoreCase(name));
-        if (!existsAlready) {
-            LOGGER.debug("Add Channel {} to {} Service", name, this.getName().get());
-            final TwitchChannel channelToAdd = TwitchUtils.constructTwitchChannel(new JsonObject(), name, false);
-            final TwitchChannelUpdateService tcus = new TwitchChannelUpdateService(channelToAdd);
-            tcus.start();
-            UPDATESERVICES.put(channelToAdd, tcus);
-            this.channelList.add(channelToAdd);
-        } else {
-            LOGGER.debug("Skipping {}, exists already in list", name);
+        this.addChannels(Collections.singletonList(name));
+    }
+
+    /**
+     * Adds all channels which are not in the list yet with a single list
+     * update and polls them once.
+     */
+    @Override
+    public void addChannels(final Collection<String> names) {
+        final List<IChannel> channelsToAdd = new ArrayList<>();
+        for (final String name : names) {
+            final int added = channelsToAdd.size();
+            this.registry.computeIfAbsent(name, () -> {
+                final TwitchChannel channelToAdd = TwitchUtils.constructTwitchChannel(null, name, false);
+                channelsToAdd.add(channelToAdd);
+                return channelToAdd;
+            });
+            if (channelsToAdd.size() > added) {
+                LOGGER.debug("Add Channel {} to {} Service", name, this.getName().get());
+            } else {
+                LOGGER.debug("Skipping {}, exists already in list", name);
+            }
+        }
+        if (!channelsToAdd.isEmpty()) {
+            this.channelList.addAll(channelsToAdd);
+            this.updateService.requestRefresh();
         }
     }
 
@@ -100,18 +112,23 @@ public final class TwitchService implements IService {
     public void removeChannel(final IChannel channel) {
         if (channel instanceof TwitchChannel) {
             LOGGER.debug("Remove Channel {} from Service {}", channel.getName(), this.getName().get());
-            final TwitchChannelUpdateService tcus = UPDATESERVICES.remove(channel);
-            tcus.cancel();
+            this.registry.unregister((TwitchChannel) channel);
             this.channelList.remove(channel);
         }
     }
 
+    /**
+     * Imports the followed channels of the user in the background. Every
+     * loaded page is added to the list as soon as it arrives.
+     */
     public void addFollowedChannels(final String username) {
         LOGGER.debug("Import followed Streams for user {} into Service {}", username, this.getName().get());
-        final Set<String> set = TwitchAPIClient.getInstance().getListOfFollowedStreams(username);
-        for (final String s : set) {
-            this.addChannel(s);
-        }
+        TwitchAPIClient.getInstance()
+                .importFollowedStreams(username, page -> Platform.runLater(() -> this.addChannels(page)))
+                .exceptionally(throwable -> {
+                    LOGGER.error("ERROR while importing followed Streams of {}", username, throwable);
+                    return null;
+                });
     }
 
     private void changeComparator(final boolean doSorting) {
@@ -147,8 +164,12 @@ public final class TwitchService implements IService {
         return this.url;
     }
 
-    public ObservableMap<IChannel, TwitchChannelUpdateService> getUpdateServices() {
-        return UPDATESERVICES;
+    public boolean containsChannel(final String name) {
+        return this.registry.contains(name);
+    }
+
+    public TwitchChannelUpdateService getUpdateService() {
+        return this.updateService;
     }
 
 }
@@ -0,0 +1,107 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.remote;
+
+import org.eclipse.jetty.http.HttpStatus;
+
+/**
+ * Outcome of an API request. Callers can tell a successful response from a
+ * failed request instead of receiving an empty body for both.
+ */
+public final class ApiResult<T> {
+
+    public enum Outcome {
+        OK, CLIENT_ERROR, RATE_LIMITED, SERVER_ERROR, FAILED
+    }
+
+    private final Outcome outcome;
+    private final int httpStatus;
+    private final T value;
+    private final Throwable failure;
+
+    private ApiResult(final Outcome outcome, final int httpStatus, final T value, final Throwable failure) {
+        this.outcome = outcome;
+        this.httpStatus = httpStatus;
+        this.value = value;
+        this.failure = failure;
+    }
+
+    public static <T> ApiResult<T> ok(final int httpStatus, final T value) {
+        return new ApiResult<>(Outcome.OK, httpStatus, value, null);
+    }
+
+    public static <T> ApiResult<T> failed(final Throwable failure) {
+        return new ApiResult<>(Outcome.FAILED, 0, null, failure);
+    }
+
+    /**
+     * @return the result for a response which was not answered with a body
+     */
+    public static <T> ApiResult<T> error(final int httpStatus) {
+        final Outcome outcome;
+        if (httpStatus == HttpStatus.TOO_MANY_REQUESTS_429) {
+            outcome = Outcome.RATE_LIMITED;
+        } else if (httpStatus >= HttpStatus.INTERNAL_SERVER_ERROR_500) {
+            outcome = Outcome.SERVER_ERROR;
+        } else if (HttpStatus.isClientError(httpStatus)) {
+            outcome = Outcome.CLIENT_ERROR;
+        } else {
+            outcome = Outcome.FAILED;
+        }
+        return new ApiResult<>(outcome, httpStatus, null, null);
+    }
+
+    public boolean isOk() {
+        return this.outcome == Outcome.OK;
+    }
+
+    public Outcome getOutcome() {
+        return this.outcome;
+    }
+
+    public int getHttpStatus() {
+        return this.httpStatus;
+    }
+
+    public T getValue() {
+        return this.value;
+    }
+
+    public T orElse(final T fallback) {
+        return this.isOk() ? this.value : fallback;
+    }
+
+    public Throwable getFailure() {
+        return this.failure;
+    }
+
+    @Override
+    public String toString() {
+        if (this.failure != null) {
+            return this.outcome + " (" + this.failure + ")";
+        }
+        return this.outcome + " (" + this.httpStatus + ")";
+    }
+
+}
@@ -28,10 +28,8 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.CompletionException;
 
-import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,10 +37,10 @@ import org.slf4j.LoggerFactory;
 import com.github.zafarkhaja.semver.Version;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 
 import app.lsgui.utils.LsGuiUtils;
 import app.lsgui.utils.Settings;
+import javafx.application.Platform;
 
 public final class GithubUpdateService {
 
@@ -58,29 +56,27 @@ public final class GithubUpdateService {
     private GithubUpdateService() {
     }
 
+    /**
+     * Blocks until the latest release was loaded and compared, so the check
+     * runs on and is throttled by the thread it is submitted to.
+     */
     public static void checkForUpdate() {
         LOGGER.debug("Check for updates on URL '{}'", RELEASES_URL);
-        String responseString = "";
-        final HttpClient client = HttpClientInterface.getClient();
-        HttpClientInterface.startClient();
+        final Request newRequest = HttpClientInterface.newRequest(RELEASES_URL);
+        newRequest.header("Accept", "application/vnd.github.v3+json");
+        final JsonElement releaseElement;
         try {
-            final Request newRequest = client.newRequest(RELEASES_URL);
-            newRequest.header("Accept", "application/vnd.github.v3+json");
-            responseString = newRequest.send().getContentAsString();
-        } catch (InterruptedException | ExecutionException | TimeoutException e) {
-            LOGGER.error("Error while sending GET Request", e);
-        } catch (Exception e) {
-            LOGGER.error("Could not start HTTP Client", e);
+            releaseElement = HttpClientInterface.sendForJson(newRequest).join();
+        } catch (CompletionException e) {
+            LOGGER.error("Error while sending GET Request", e.getCause());
+            return;
         }
-
-        if (responseString != null && !"".equals(responseString)) {
-            processJsonResponse(responseString);
+        if (releaseElement != null) {
+            processJsonResponse(releaseElement);
         }
     }
 
-    private static void processJsonResponse(final String responseString) {
-        final JsonParser parser = new JsonParser();
-        final JsonElement releaseElement = parser.parse(responseString);
+    private static void processJsonResponse(final JsonElement releaseElement) {
         if (releaseElement.isJsonObject()) {
             final JsonObject latestReleaseFull = releaseElement.getAsJsonObject();
             final String tag = latestReleaseFull.get("tag_name").getAsString();
@@ -89,8 +85,11 @@ public final class GithubUpdateService {
             final String htmlUrl = latestReleaseFull.get("html_url").getAsString();
             if (!isPreRelease && isVersionNewer(tag)) {
                 final ZonedDateTime publishedDate = convertPublishedDate(publishedAt);
-                LsGuiUtils.showUpdateNotification(tag, publishedDate, event -> LsGuiUtils.openURLInBrowser(htmlUrl));
-                Settings.getInstance().updateLinkProperty().set(htmlUrl);
+                Platform.runLater(() -> {
+                    LsGuiUtils.showUpdateNotification(tag, publishedDate,
+                            event -> LsGuiUtils.openURLInBrowser(htmlUrl));
+                    Settings.getInstance().updateLinkProperty().set(htmlUrl);
+                });
             }
         }
     }
@@ -1,41 +1,203 @@
 package app.lsgui.remote;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpContentResponse;
+import org.eclipse.jetty.client.api.ContentResponse;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.client.util.BufferingResponseListener;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpHeaderValue;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+
+import app.lsgui.utils.Settings;
+
 public final class HttpClientInterface {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientInterface.class);
+    private static final JsonParser JSONPARSER = new JsonParser();
 
     private static final SslContextFactory sslContextFactory = new SslContextFactory();
-    private static HttpClient client;
+    private static volatile HttpClient client;
 
     private HttpClientInterface() {
     }
 
-    public static synchronized HttpClient getClient() {
-        if (client == null) {
-            client = new HttpClient(sslContextFactory);
+    public static HttpClient getClient() {
+        HttpClient current = client;
+        if (current == null) {
+            synchronized (HttpClientInterface.class) {
+                if (client == null) {
+                    client = createClient();
+                }
+                current = client;
+            }
         }
-        return client;
+        return current;
     }
 
+    /**
+     * Starts the client. Called once in the background at boot, so requests
+     * do not have to start it.
+     */
     public static synchronized void startClient() {
-        if (client != null && !client.isStarted()) {
+        final HttpClient current = getClient();
+        if (!current.isStarted()) {
             LOGGER.debug("Start HTTP Client");
             try {
-                client.start();
+                current.start();
             } catch (Exception e) {
                 LOGGER.error("Could not start HTTP Client", e);
             }
         }
     }
 
+    /**
+     * Builds the client from the transport settings.
+     */
+    private static HttpClient createClient() {
+        final Settings settings = Settings.getInstance();
+        final HttpClient newClient = new HttpClient(sslContextFactory);
+        newClient.setMaxConnectionsPerDestination(settings.maxConnectionsPerDestinationProperty().get());
+        newClient.setIdleTimeout(settings.idleTimeoutProperty().get());
+        newClient.setConnectTimeout(settings.connectTimeoutProperty().get());
+        return newClient;
+    }
+
+    /**
+     * @return a new request with the read timeout and keep alive setting
+     *         applied
+     */
+    public static Request newRequest(final URI uri) {
+        final Settings settings = Settings.getInstance();
+        final Request request = getClient().newRequest(uri);
+        request.idleTimeout(settings.readTimeoutProperty().get(), TimeUnit.MILLISECONDS);
+        if (!settings.keepAliveProperty().get()) {
+            request.header(HttpHeader.CONNECTION, HttpHeaderValue.CLOSE.asString());
+        }
+        return request;
+    }
+
+    public static Request newRequest(final String url) {
+        return newRequest(URI.create(url));
+    }
+
+    /**
+     * Starts the client and opens a connection to the host of the URI with a
+     * HEAD request, so the TLS handshake is done before the first real request
+     * needs the connection.
+     */
+    public static CompletableFuture<Void> warmUp(final URI uri) {
+        final long start = System.nanoTime();
+        ensureStarted();
+        return sendForContent(newRequest(uri).method(HttpMethod.HEAD)).handle((response, throwable) -> {
+            final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (throwable != null) {
+                LOGGER.warn("Warm-up of '{}' failed after {}ms", uri.getHost(), millis, throwable);
+            } else {
+                LOGGER.debug("Warm-up of '{}' took {}ms", uri.getHost(), millis);
+            }
+            return null;
+        });
+    }
+
+    private static void ensureStarted() {
+        if (!getClient().isStarted()) {
+            startClient();
+        }
+    }
+
+    /**
+     * Sends the request without blocking the calling thread. The response body
+     * is parsed directly from the received bytes once the response is complete.
+     */
+    public static CompletableFuture<JsonElement> sendForJson(final Request request) {
+        return sendForJsonResponse(request, JSONPARSER::parse).thenApply(JsonResponse::getBody);
+    }
+
+    /**
+     * Like {@link #sendForJson(Request)} but keeps the status and the headers
+     * of the response and reads the body with the given decoder. Only
+     * successful responses are decoded, e.g. a 304 Not Modified or an error
+     * response has no body. A body the decoder cannot read completes the
+     * future with a {@link JsonParseException}, as opposed to the
+     * {@link IOException}s of transport failures.
+     */
+    public static <T> CompletableFuture<JsonResponse<T>> sendForJsonResponse(final Request request,
+            final ResponseDecoder<T> decoder) {
+        final CompletableFuture<JsonResponse<T>> future = new CompletableFuture<>();
+        ensureStarted();
+        LOGGER.trace("Send async Request to '{}'", request.getURI());
+        request.send(new BufferingResponseListener() {
+            @Override
+            public void onComplete(final Result result) {
+                if (result.isFailed()) {
+                    future.completeExceptionally(result.getFailure());
+                    return;
+                }
+                final int status = result.getResponse().getStatus();
+                final HttpFields headers = result.getResponse().getHeaders();
+                if (!HttpStatus.isSuccess(status)) {
+                    future.complete(new JsonResponse<>(status, headers, null));
+                    return;
+                }
+                final String encoding = getEncoding();
+                final Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+                try (final JsonReader reader = new JsonReader(
+                        new InputStreamReader(getContentAsInputStream(), charset))) {
+                    future.complete(new JsonResponse<>(status, headers, decoder.decode(reader)));
+                } catch (IOException | JsonParseException | IllegalStateException e) {
+                    future.completeExceptionally(
+                            new JsonParseException("Could not decode response of '" + request.getURI() + "'", e));
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Sends the request without blocking and keeps the raw response body.
+     */
+    public static CompletableFuture<ContentResponse> sendForContent(final Request request) {
+        final CompletableFuture<ContentResponse> future = new CompletableFuture<>();
+        ensureStarted();
+        LOGGER.trace("Send async Request to '{}'", request.getURI());
+        request.send(new BufferingResponseListener() {
+            @Override
+            public void onComplete(final Result result) {
+                if (result.isFailed()) {
+                    future.completeExceptionally(result.getFailure());
+                } else {
+                    future.complete(new HttpContentResponse(result.getResponse(), getContent(), getMediaType(),
+                            getEncoding()));
+                }
+            }
+        });
+        return future;
+    }
+
     public static void stopClient() {
         if (client != null && client.isStarted() && !client.isStopped()) {
             LOGGER.debug("Stop HTTP Client");
+            LOGGER.debug("Response cache: {}", HttpResponseCache.getInstance());
             try {
                 client.stop();
             } catch (Exception e) {
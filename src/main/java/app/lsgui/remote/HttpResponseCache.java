@@ -0,0 +1,169 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.remote;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In memory cache for decoded JSON GET responses. Entries are fresh for the TTL given
+ * with the request. Expired entries with an ETag are revalidated with
+ * If-None-Match, so an unchanged resource costs a 304 instead of the full
+ * body. The least recently used entries are evicted once the cache is full.
+ */
+public final class HttpResponseCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpResponseCache.class);
+    private static final int MAX_ENTRIES = 64;
+
+    private static HttpResponseCache instance;
+
+    private final Map<String, CacheEntry> entries = new LinkedHashMap<String, CacheEntry>(16, 0.75F, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, CacheEntry> eldest) {
+            return this.size() > MAX_ENTRIES;
+        }
+    };
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private HttpResponseCache() {
+    }
+
+    public static synchronized HttpResponseCache getInstance() {
+        if (instance == null) {
+            instance = new HttpResponseCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Answers the request from the cache while the entry is fresh and sends it
+     * through the {@link RequestGovernor} otherwise. The decoded body is
+     * cached, so it has to be immutable. A TTL of zero or less bypasses the
+     * cache. Failed requests complete with a failed {@link ApiResult}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<ApiResult<T>> send(final Request request, final long ttlMillis,
+            final ResponseDecoder<T> decoder) {
+        if (ttlMillis <= 0) {
+            return RequestGovernor.getInstance().send(request, decoder).handle(HttpResponseCache::toResult);
+        }
+        final String key = request.getURI().toString();
+        final CacheEntry entry = this.get(key);
+        final CacheEntry cached = entry != null && entry.decoder == decoder ? entry : null;
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            LOGGER.trace("Cache hit for '{}'", key);
+            this.hits.incrementAndGet();
+            return CompletableFuture.completedFuture(ApiResult.ok(HttpStatus.OK_200, (T) cached.body));
+        }
+        if (cached != null && cached.etag != null) {
+            request.header(HttpHeader.IF_NONE_MATCH, cached.etag);
+        }
+        return RequestGovernor.getInstance().send(request, decoder).handle((response, throwable) -> {
+            if (throwable != null) {
+                return ApiResult.failed(throwable);
+            }
+            final long expiresAt = System.currentTimeMillis() + ttlMillis;
+            if (response.isNotModified() && cached != null) {
+                LOGGER.trace("'{}' not modified", key);
+                this.revalidations.incrementAndGet();
+                this.put(key, new CacheEntry(decoder, cached.body, cached.etag, expiresAt));
+                return ApiResult.ok(HttpStatus.NOT_MODIFIED_304, (T) cached.body);
+            }
+            this.misses.incrementAndGet();
+            if (response.getStatus() == HttpStatus.OK_200 && response.getBody() != null) {
+                this.put(key, new CacheEntry(decoder, response.getBody(), response.getEtag(), expiresAt));
+            }
+            return toResult(response, null);
+        });
+    }
+
+    private static <T> ApiResult<T> toResult(final JsonResponse<T> response, final Throwable throwable) {
+        if (throwable != null) {
+            return ApiResult.failed(throwable);
+        }
+        if (response.getBody() == null) {
+            return ApiResult.error(response.getStatus());
+        }
+        return ApiResult.ok(response.getStatus(), response.getBody());
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getRevalidations() {
+        return this.revalidations.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    private synchronized CacheEntry get(final String key) {
+        return this.entries.get(key);
+    }
+
+    private synchronized void put(final String key, final CacheEntry entry) {
+        this.entries.put(key, entry);
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + this.getHits() + ", revalidations=" + this.getRevalidations() + ", misses="
+                + this.getMisses() + ", entries=" + this.size();
+    }
+
+    private static final class CacheEntry {
+        private final ResponseDecoder<?> decoder;
+        private final Object body;
+        private final String etag;
+        private final long expiresAt;
+
+        private CacheEntry(final ResponseDecoder<?> decoder, final Object body, final String etag,
+                final long expiresAt) {
+            this.decoder = decoder;
+            this.body = body;
+            this.etag = etag;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+}
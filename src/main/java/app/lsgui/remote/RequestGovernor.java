@@ -0,0 +1,197 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.remote;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends API requests through a {@link TokenBucket}. Until a response reports
+ * the server's limit with Ratelimit-Limit, the bucket allows a conservative
+ * {@value #BUCKET_CAPACITY} requests per minute. After that the bucket follows
+ * the rate limit headers of the responses. Requests answered with 429 or a server
+ * error and requests failing in transport are retried with a jittered
+ * exponential backoff, or after the time given by Retry-After. While a
+ * Retry-After pause is active, no other request is sent either.
+ */
+public final class RequestGovernor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestGovernor.class);
+    private static final int BUCKET_CAPACITY = 30;
+    private static final long BUCKET_REFILL_PERIOD = TimeUnit.MINUTES.toMillis(1);
+    private static final int MAX_RETRIES = 3;
+    private static final long BASE_BACKOFF = TimeUnit.SECONDS.toMillis(1);
+    private static final long MAX_BACKOFF = TimeUnit.SECONDS.toMillis(30);
+    private static final String RATELIMIT_LIMIT = "Ratelimit-Limit";
+    private static final String RATELIMIT_REMAINING = "Ratelimit-Remaining";
+    private static final String RATELIMIT_RESET = "Ratelimit-Reset";
+
+    private static RequestGovernor instance;
+
+    private final TokenBucket bucket = new TokenBucket(BUCKET_CAPACITY, BUCKET_REFILL_PERIOD,
+            System.currentTimeMillis());
+
+    private RequestGovernor() {
+    }
+
+    public static synchronized RequestGovernor getInstance() {
+        if (instance == null) {
+            instance = new RequestGovernor();
+        }
+        return instance;
+    }
+
+    /**
+     * Sends the request once a token is available and retries it if the
+     * server or the connection failed. Completes with the last response, or
+     * exceptionally if the last attempt failed in transport.
+     */
+    public <T> CompletableFuture<JsonResponse<T>> send(final Request request, final ResponseDecoder<T> decoder) {
+        final CompletableFuture<JsonResponse<T>> future = new CompletableFuture<>();
+        this.attempt(request, decoder, 0, future);
+        return future;
+    }
+
+    private <T> void attempt(final Request request, final ResponseDecoder<T> decoder, final int attempt,
+            final CompletableFuture<JsonResponse<T>> future) {
+        final long wait = this.bucket.tryAcquire(System.currentTimeMillis());
+        if (wait > 0) {
+            LOGGER.trace("Delay request to '{}' by {}ms", request.getURI(), wait);
+            schedule(() -> this.attempt(request, decoder, attempt, future), wait);
+            return;
+        }
+        HttpClientInterface.sendForJsonResponse(request, decoder).whenComplete((response, throwable) -> {
+            if (response != null) {
+                this.updateQuota(response);
+            }
+            if (attempt < MAX_RETRIES && isRetryable(response, throwable)) {
+                final long delay = this.retryDelay(response, attempt);
+                LOGGER.debug("Retry '{}' in {}ms after {}", request.getURI(), delay,
+                        throwable != null ? throwable.toString() : response.getStatus());
+                schedule(() -> this.attempt(copyOf(request), decoder, attempt + 1, future), delay);
+            } else if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else {
+                future.complete(response);
+            }
+        });
+    }
+
+    /**
+     * Responses which could not be decoded fail with a JsonParseException and
+     * are not retried, the same body would be sent again.
+     */
+    private static boolean isRetryable(final JsonResponse<?> response, final Throwable throwable) {
+        if (throwable != null) {
+            return throwable instanceof IOException || throwable instanceof TimeoutException;
+        }
+        final int status = response.getStatus();
+        return status == HttpStatus.TOO_MANY_REQUESTS_429 || status >= HttpStatus.INTERNAL_SERVER_ERROR_500;
+    }
+
+    private long retryDelay(final JsonResponse<?> response, final int attempt) {
+        final long now = System.currentTimeMillis();
+        final long retryAfter = response != null ? parseRetryAfter(response, now) : -1L;
+        if (retryAfter >= 0) {
+            this.bucket.blockUntil(now + retryAfter);
+            return retryAfter;
+        }
+        final long backoff = Math.min(MAX_BACKOFF, BASE_BACKOFF << attempt);
+        final long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        if (response != null && response.getStatus() == HttpStatus.TOO_MANY_REQUESTS_429) {
+            this.bucket.blockUntil(now + delay);
+        }
+        return delay;
+    }
+
+    /**
+     * @return the milliseconds to wait given by the Retry-After header in
+     *         seconds or as HTTP date, or -1 without a valid header
+     */
+    private static long parseRetryAfter(final JsonResponse<?> response, final long now) {
+        final String value = response.getHeader(HttpHeader.RETRY_AFTER.asString());
+        if (value == null) {
+            return -1L;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0L, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                return Math.max(0L, response.getHeaders().getDateField(HttpHeader.RETRY_AFTER.asString()) - now);
+            } catch (IllegalArgumentException ex) {
+                LOGGER.trace("Invalid Retry-After '{}'", value, ex);
+                return -1L;
+            }
+        }
+    }
+
+    private void updateQuota(final JsonResponse<?> response) {
+        final String limit = response.getHeader(RATELIMIT_LIMIT);
+        final String remaining = response.getHeader(RATELIMIT_REMAINING);
+        try {
+            if (limit != null) {
+                this.bucket.updateCapacity(Integer.parseInt(limit.trim()), System.currentTimeMillis());
+            }
+            if (remaining == null) {
+                return;
+            }
+            final String reset = response.getHeader(RATELIMIT_RESET);
+            final long resetAt = reset == null ? 0L : TimeUnit.SECONDS.toMillis(Long.parseLong(reset.trim()));
+            this.bucket.updateRemaining(Integer.parseInt(remaining.trim()), resetAt, System.currentTimeMillis());
+        } catch (NumberFormatException e) {
+            LOGGER.trace("Invalid rate limit headers", e);
+        }
+    }
+
+    private static void schedule(final Runnable task, final long delayMillis) {
+        final HttpClient client = HttpClientInterface.getClient();
+        HttpClientInterface.startClient();
+        client.getScheduler().schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Jetty requests can only be sent once, a retry sends a copy.
+     */
+    private static Request copyOf(final Request request) {
+        final Request copy = HttpClientInterface.newRequest(request.getURI()).method(request.getMethod());
+        for (final HttpField field : request.getHeaders()) {
+            if (!copy.getHeaders().containsKey(field.getName())) {
+                copy.header(field.getName(), field.getValue());
+            }
+        }
+        return copy;
+    }
+
+}
@@ -0,0 +1,113 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.remote;
+
+/**
+ * Token bucket limiting the requests sent to an API. The bucket holds up to
+ * capacity tokens and is refilled continuously, capacity tokens per refill
+ * period. The server's view of the remaining quota and Retry-After pauses
+ * override the local estimate. All times are epoch milliseconds passed in by
+ * the caller.
+ */
+public final class TokenBucket {
+
+    private final long refillPeriodMillis;
+    private int capacity;
+    private double tokensPerMilli;
+    private double tokens;
+    private long lastRefill;
+    private long blockedUntil;
+
+    public TokenBucket(final int capacity, final long refillPeriodMillis, final long now) {
+        this.refillPeriodMillis = refillPeriodMillis;
+        this.capacity = capacity;
+        this.tokensPerMilli = (double) capacity / refillPeriodMillis;
+        this.tokens = capacity;
+        this.lastRefill = now;
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return 0 if a token was taken, otherwise the milliseconds to wait before
+     *         trying again
+     */
+    public synchronized long tryAcquire(final long now) {
+        if (now < this.blockedUntil) {
+            return this.blockedUntil - now;
+        }
+        this.refill(now);
+        if (this.tokens >= 1.0D) {
+            this.tokens -= 1.0D;
+            return 0L;
+        }
+        return Math.max(1L, (long) Math.ceil((1.0D - this.tokens) / this.tokensPerMilli));
+    }
+
+    /**
+     * Replaces the capacity with the limit the server reported, per refill
+     * period. A raised capacity grants the additional tokens right away.
+     */
+    public synchronized void updateCapacity(final int capacity, final long now) {
+        if (capacity <= 0 || capacity == this.capacity) {
+            return;
+        }
+        this.refill(now);
+        this.tokens = Math.min(capacity, this.tokens + Math.max(0, capacity - this.capacity));
+        this.capacity = capacity;
+        this.tokensPerMilli = (double) capacity / this.refillPeriodMillis;
+    }
+
+    /**
+     * Lowers the local estimate to the quota the server reported. If nothing
+     * is left, no token is handed out before resetAt.
+     */
+    public synchronized void updateRemaining(final int remaining, final long resetAt, final long now) {
+        this.refill(now);
+        this.tokens = Math.min(this.tokens, Math.max(0, remaining));
+        if (remaining <= 0 && resetAt > now) {
+            this.blockUntil(resetAt);
+        }
+    }
+
+    /**
+     * Hands out no token before until, e.g. after a Retry-After response.
+     */
+    public synchronized void blockUntil(final long until) {
+        this.blockedUntil = Math.max(this.blockedUntil, until);
+    }
+
+    public synchronized int getAvailableTokens(final long now) {
+        this.refill(now);
+        return (int) this.tokens;
+    }
+
+    private void refill(final long now) {
+        if (now > this.lastRefill) {
+            this.tokens = Math.min(this.capacity, this.tokens + (now - this.lastRefill) * this.tokensPerMilli);
+            this.lastRefill = now;
+        }
+    }
+
+}
@@ -0,0 +1,176 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.remote.twitch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import app.lsgui.model.twitch.TwitchChannel;
+
+/**
+ * Decides which channels are due for a status poll. Channels with a reminder
+ * and channels that changed their state recently are polled every
+ * {@value #FAST_INTERVAL} seconds, online channels every
+ * {@value #ONLINE_INTERVAL} seconds and the interval of offline channels
+ * doubles with every unchanged poll up to {@value #MAX_OFFLINE_INTERVAL}
+ * seconds. Failed polls back off the same way until the next successful poll.
+ */
+public final class ChannelPollSchedule {
+
+    static final long FAST_INTERVAL = 20;
+    static final long ONLINE_INTERVAL = 60;
+    static final long MAX_OFFLINE_INTERVAL = 900;
+    private static final long RECENT_CHANGE = TimeUnit.MINUTES.toMillis(10);
+    private final Map<TwitchChannel, PollState> pollStates = new IdentityHashMap<>();
+    private final int budget;
+
+    /**
+     * @param budget
+     *            the maximum number of channels returned by one call of
+     *            {@link #selectDue(Collection, long)}
+     */
+    public ChannelPollSchedule(final int budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Picks the channels whose interval has passed. Channels never polled come
+     * first, then channels with a reminder, then the most overdue ones. States
+     * of channels missing from {@code channels} are dropped.
+     */
+    public List<TwitchChannel> selectDue(final Collection<TwitchChannel> channels, final long now) {
+        final Set<TwitchChannel> current = Collections.newSetFromMap(new IdentityHashMap<>());
+        final List<TwitchChannel> due = new ArrayList<>();
+        for (final TwitchChannel channel : channels) {
+            current.add(channel);
+            final PollState state = this.pollStates.get(channel);
+            if (state == null || state.overdue(channel, now) >= 0) {
+                due.add(channel);
+            }
+        }
+        this.pollStates.keySet().retainAll(current);
+        due.sort(Comparator.comparing((TwitchChannel channel) -> this.pollStates.containsKey(channel))
+                .thenComparing(channel -> !channel.hasReminder().get())
+                .thenComparing(channel -> {
+                    final PollState state = this.pollStates.get(channel);
+                    return state == null ? 0L : -state.overdue(channel, now);
+                }));
+        return due.size() > this.budget ? new ArrayList<>(due.subList(0, this.budget)) : due;
+    }
+
+    /**
+     * Records a poll of the channel after its new state has been applied.
+     */
+    public void polled(final TwitchChannel channel, final long now) {
+        this.pollStates.computeIfAbsent(channel, key -> new PollState()).polled(channel, now);
+    }
+
+    /**
+     * Records a poll of the channel which returned no state, e.g. because its
+     * request failed.
+     */
+    public void failed(final TwitchChannel channel, final long now) {
+        this.pollStates.computeIfAbsent(channel, key -> new PollState()).failed(now);
+    }
+
+    /**
+     * @return the current poll interval of the channel in seconds, or 0 if it
+     *         has never been polled
+     */
+    public long getInterval(final TwitchChannel channel, final long now) {
+        final PollState state = this.pollStates.get(channel);
+        return state == null ? 0L : state.interval(channel, now);
+    }
+
+    private static final class PollState {
+        private long lastPoll;
+        private long lastChange;
+        private boolean hasSucceeded;
+        private boolean wasOnline;
+        private int unchangedOfflinePolls;
+        private int failedPolls;
+
+        private void polled(final TwitchChannel channel, final long now) {
+            final boolean isOnline = channel.isOnline().get();
+            if (this.hasSucceeded && isOnline != this.wasOnline) {
+                this.lastChange = now;
+                this.unchangedOfflinePolls = 0;
+            } else if (!isOnline && offlineInterval(this.unchangedOfflinePolls) < MAX_OFFLINE_INTERVAL) {
+                this.unchangedOfflinePolls++;
+            }
+            this.wasOnline = isOnline;
+            this.hasSucceeded = true;
+            this.failedPolls = 0;
+            this.lastPoll = now;
+        }
+
+        private void failed(final long now) {
+            if (this.failedPolls == 0 || offlineInterval(this.failedPolls - 1) < MAX_OFFLINE_INTERVAL) {
+                this.failedPolls++;
+            }
+            this.lastPoll = now;
+        }
+
+        private long interval(final TwitchChannel channel, final long now) {
+            if (this.failedPolls > 0) {
+                return Math.max(offlineInterval(this.failedPolls - 1), this.stateInterval(channel, now));
+            }
+            return this.stateInterval(channel, now);
+        }
+
+        private long stateInterval(final TwitchChannel channel, final long now) {
+            if (channel.hasReminder().get() || now - this.lastChange < RECENT_CHANGE) {
+                return FAST_INTERVAL;
+            }
+            if (this.wasOnline) {
+                return ONLINE_INTERVAL;
+            }
+            return offlineInterval(this.unchangedOfflinePolls);
+        }
+
+        /**
+         * @return milliseconds since the channel became due, negative while it
+         *         is not due yet
+         */
+        private long overdue(final TwitchChannel channel, final long now) {
+            return now - this.lastPoll - TimeUnit.SECONDS.toMillis(this.interval(channel, now));
+        }
+
+        /**
+         * The doublings stop counting once the ceiling is reached, so the
+         * shift stays small.
+         */
+        private static long offlineInterval(final int doublings) {
+            return Math.min(ONLINE_INTERVAL << doublings, MAX_OFFLINE_INTERVAL);
+        }
+    }
+
+}
@@ -25,27 +25,33 @@ package app.lsgui.remote.twitch;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
-import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
-
-import app.lsgui.model.twitch.TwitchChannel;
 import app.lsgui.model.twitch.TwitchChannels;
 import app.lsgui.model.twitch.TwitchGames;
+import app.lsgui.remote.ApiException;
+import app.lsgui.remote.ApiResult;
 import app.lsgui.remote.HttpClientInterface;
-import app.lsgui.utils.JsonUtils;
+import app.lsgui.remote.HttpResponseCache;
+import app.lsgui.remote.ResponseDecoder;
 import app.lsgui.utils.Settings;
 import app.lsgui.utils.TwitchUtils;
 
@@ -57,11 +63,18 @@ import app.lsgui.utils.TwitchUtils;
 public final class TwitchAPIClient {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(TwitchAPIClient.class);
-	private static final JsonParser JSONPARSER = new JsonParser();
 
 	private static final String TWITCH_API_VERSION_HEADER = "application/vnd.twitchtv.v5+json";
 	private static final String TWITCH_BASE_URL = "https://api.twitch.tv/kraken/";
 	private static final String LSGUI_CLIENT_ID = "rfpepzumaxd1iija3ip3fixao6z13pj";
+	private static final int MAX_IDS_PER_REQUEST = 100;
+	private static final long NO_CACHE = 0L;
+	private static final long TOP_GAMES_TTL = TimeUnit.MINUTES.toMillis(5);
+	private static final long GAME_STREAMS_TTL = TimeUnit.MINUTES.toMillis(1);
+	private static final long FOLLOWS_TTL = TimeUnit.MINUTES.toMillis(10);
+
+	private static final Map<String, InFlightRequest<?>> IN_FLIGHT = new ConcurrentHashMap<>();
+	private static final Map<String, CompletableFuture<String>> PENDING_USER_IDS = new ConcurrentHashMap<>();
 
 	private static TwitchAPIClient instance;
 
@@ -76,93 +89,291 @@ public final class TwitchAPIClient {
 		return instance;
 	}
 
-	public TwitchChannel getStreamData(final String channelName, final boolean isBrowser) {
+	/**
+	 * Connects to the API host ahead of the first request.
+	 */
+	public CompletableFuture<Void> warmUp() {
+		return HttpClientInterface.warmUp(convertToURI(TWITCH_BASE_URL));
+	}
+
+	public TwitchStream getStreamData(final String channelName) {
+		return this.getStreamDataAsync(channelName).join();
+	}
+
+	public CompletableFuture<TwitchStream> getStreamDataAsync(final String channelName) {
 		LOGGER.debug("Get Data for Channel '{}'", channelName);
-		TwitchChannel channel = TwitchUtils.constructTwitchChannel(new JsonObject(), channelName, isBrowser);
-		if (!"".equals(channelName)) {
-			try {
-				final String twitchUserId = getTwitchUserIdFromName(channelName, false);
-				if (twitchUserId.isEmpty()) {
-					return channel;
+		if ("".equals(channelName)) {
+			LOGGER.error("Channelname is empty");
+		}
+		return this.getStreamsDataAsync(Collections.singleton(channelName))
+				.thenApply(streams -> streams.get(TwitchUtils.normalizeChannelName(channelName)));
+	}
+
+	public Map<String, TwitchStream> getStreamsData(final Collection<String> channelNames) {
+		return this.getStreamsDataAsync(channelNames).join();
+	}
+
+	/**
+	 * Loads the stream data of all given channels in batches of up to
+	 * {@value #MAX_IDS_PER_REQUEST} channels per request. The result is keyed by
+	 * the normalized channel name, channels not streaming get an offline
+	 * snapshot. Channels whose request failed are left out, so a failed request
+	 * does not make them look offline.
+	 */
+	public CompletableFuture<Map<String, TwitchStream>> getStreamsDataAsync(final Collection<String> channelNames) {
+		LOGGER.debug("Get Data for {} Channels", channelNames.size());
+		if (channelNames.isEmpty()) {
+			return CompletableFuture.completedFuture(new HashMap<>());
+		}
+		return getTwitchUserIdsFromNames(channelNames).thenCompose(userIds -> {
+			final List<String> ids = new ArrayList<>(new LinkedHashSet<>(userIds.values()));
+			final List<List<String>> batches = new ArrayList<>();
+			final List<CompletableFuture<ApiResult<List<TwitchStream>>>> responses = new ArrayList<>();
+			for (int i = 0; i < ids.size(); i += MAX_IDS_PER_REQUEST) {
+				final List<String> batch = ids.subList(i, Math.min(i + MAX_IDS_PER_REQUEST, ids.size()));
+				batches.add(batch);
+				responses.add(getAPIResponse(convertToURI(TWITCH_BASE_URL + "streams/?channel=" + String.join(",", batch)
+						+ "&limit=" + MAX_IDS_PER_REQUEST), NO_CACHE, TwitchJsonDecoders.STREAMS));
+			}
+			return allOf(responses).thenApply(results -> {
+				final Map<String, TwitchStream> streamsById = new HashMap<>();
+				final Set<String> failedIds = new HashSet<>();
+				for (int i = 0; i < results.size(); i++) {
+					final ApiResult<List<TwitchStream>> result = results.get(i);
+					if (!result.isOk()) {
+						failedIds.addAll(batches.get(i));
+						continue;
+					}
+					for (final TwitchStream stream : result.getValue()) {
+						streamsById.put(Long.toString(stream.getId()), stream);
+					}
+				}
+				final TwitchUserIdCache cache = TwitchUserIdCache.getInstance();
+				final Map<String, TwitchStream> snapshots = new HashMap<>();
+				for (final String channelName : channelNames) {
+					final String normalizedName = TwitchUtils.normalizeChannelName(channelName);
+					final String userId = userIds.get(normalizedName);
+					if (userId != null && !failedIds.contains(userId)) {
+						final TwitchStream stream = streamsById.get(userId);
+						snapshots.put(normalizedName, stream != null ? stream : TwitchStream.offline(channelName));
+					} else if (userId == null && "".equals(cache.getUserId(normalizedName))) {
+						// Twitch knows no such user
+						snapshots.put(normalizedName, TwitchStream.offline(channelName));
+					}
 				}
-				final URI uri = convertToURI(TWITCH_BASE_URL + "streams/" + twitchUserId);
-				final JsonObject jsonData = JSONPARSER.parse(getAPIResponse(uri)).getAsJsonObject();
-				channel = TwitchUtils.constructTwitchChannel(jsonData, channelName, isBrowser);
-			} catch (JsonSyntaxException e) {
-				LOGGER.error("ERROR while loading channel data. Return empty channel", e);
+				return snapshots;
+			});
+		});
+	}
+
+	private static CompletableFuture<Map<String, String>> getTwitchUserIdsFromNames(
+			final Collection<String> channelNames) {
+		final TwitchUserIdCache cache = TwitchUserIdCache.getInstance();
+		final Map<String, String> userIds = new HashMap<>();
+		final Set<String> loginsToResolve = new LinkedHashSet<>();
+		for (final String channelName : channelNames) {
+			final String login = TwitchUtils.normalizeChannelName(channelName);
+			final String cachedId = cache.getUserId(login);
+			if (cachedId == null && !login.isEmpty()) {
+				loginsToResolve.add(login);
+			} else if (cachedId != null && !cachedId.isEmpty()) {
+				userIds.put(login, cachedId);
 			}
-		} else {
-			LOGGER.error("Channelname is empty");
 		}
-		return channel;
-	}
-
-	private static String getTwitchUserIdFromName(final String channelName, final boolean dontRepeat) {
-		LOGGER.trace("Request Twitch UserId for username {}", channelName);
-		final URI uri = convertToURI(TWITCH_BASE_URL + "search/channels?query=" + channelName);
-		final JsonObject jsonData = JSONPARSER.parse(getAPIResponse(uri)).getAsJsonObject();
-		final JsonArray channels = jsonData.get("channels").getAsJsonArray();
-		if (channels.size() == 0 && !dontRepeat) {
-			LOGGER.warn("Search result for channel '{}' was empty, retrying UserId search once!", channelName);
-			return getTwitchUserIdFromName(channelName, true);
-		} else if (channels.size() == 0 && dontRepeat) {
-			LOGGER.warn("Search result for channel '{}' still empty after retry!", channelName);
-			return "";
+		// Logins another caller is already resolving are awaited instead of requested again
+		final Map<String, CompletableFuture<String>> pending = new LinkedHashMap<>();
+		final List<String> logins = new ArrayList<>();
+		for (final String login : loginsToResolve) {
+			final CompletableFuture<String> resolved = new CompletableFuture<>();
+			final CompletableFuture<String> inFlight = PENDING_USER_IDS.putIfAbsent(login, resolved);
+			pending.put(login, inFlight != null ? inFlight : resolved);
+			if (inFlight == null) {
+				logins.add(login);
+			}
 		}
-		String userId = "";
-		for (final JsonElement element : channels) {
-			final JsonObject jsonObject = element.getAsJsonObject();
-			final String userName = JsonUtils.getStringIfNotNull("name", jsonObject);
-			if (userName.equalsIgnoreCase(channelName)) {
-				userId = jsonObject.get("_id").getAsString();
-				break;
+		LOGGER.trace("Request Twitch UserIds for {} of {} usernames", logins.size(), loginsToResolve.size());
+		for (int i = 0; i < logins.size(); i += MAX_IDS_PER_REQUEST) {
+			final List<String> batch = logins.subList(i, Math.min(i + MAX_IDS_PER_REQUEST, logins.size()));
+			final URI uri = convertToURI(TWITCH_BASE_URL + "users?login=" + String.join(",", batch));
+			getAPIResponse(uri, NO_CACHE, TwitchJsonDecoders.USERS).thenApply(result -> resolveUserIds(batch, result))
+					.whenComplete((resolvedIds, throwable) -> {
+						for (final String login : batch) {
+							final CompletableFuture<String> resolved = pending.get(login);
+							PENDING_USER_IDS.remove(login, resolved);
+							resolved.complete(resolvedIds == null ? null : resolvedIds.get(login));
+						}
+					});
+		}
+		final List<String> pendingLogins = new ArrayList<>(pending.keySet());
+		return allOf(new ArrayList<>(pending.values())).thenApply(resolvedIds -> {
+			for (int i = 0; i < pendingLogins.size(); i++) {
+				if (resolvedIds.get(i) != null) {
+					userIds.put(pendingLogins.get(i), resolvedIds.get(i));
+				}
+			}
+			return userIds;
+		});
+	}
+
+	private static Map<String, String> resolveUserIds(final List<String> logins,
+			final ApiResult<Map<String, String>> result) {
+		final TwitchUserIdCache cache = TwitchUserIdCache.getInstance();
+		final Map<String, String> userIds = new HashMap<>();
+		if (result.isOk()) {
+			for (final Map.Entry<String, String> user : result.getValue().entrySet()) {
+				userIds.put(TwitchUtils.normalizeChannelName(user.getKey()), user.getValue());
+			}
+			for (final String login : logins) {
+				final String userId = userIds.get(login);
+				if (userId == null || userId.isEmpty()) {
+					cache.putMissing(login);
+				} else {
+					cache.putUserId(login, userId);
+				}
+			}
+		} else {
+			LOGGER.warn("Could not resolve user ids, falling back to previously known ids");
+			for (final String login : logins) {
+				final String userId = cache.getStaleUserId(login);
+				if (userId != null) {
+					userIds.put(login, userId);
+				}
 			}
 		}
+		return userIds;
+	}
+
+	private static String getTwitchUserIdFromName(final String channelName) {
+		final String login = TwitchUtils.normalizeChannelName(channelName);
+		final String userId = getTwitchUserIdsFromNames(Collections.singleton(login)).join().getOrDefault(login, "");
 		LOGGER.debug("Return Twitch User id {} for username {}", userId, channelName);
 		return userId;
 	}
 
 	public TwitchChannels getGameData(final String game) {
-		LOGGER.debug("Load game Data");
+		return this.getGameData(game, 0);
+	}
+
+	/**
+	 * Loads one page of the streams of a game, starting at offset. The page size
+	 * is the amount of channels to load from the settings.
+	 *
+	 * @throws ApiException
+	 *             if the page could not be loaded
+	 */
+	public TwitchChannels getGameData(final String game, final int offset) {
+		return new TwitchChannels(getValueOrThrow(requestGameData(game, offset).join(),
+				"Could not load streams of '" + game + "' at offset " + offset));
+	}
+
+	private static CompletableFuture<ApiResult<List<TwitchStream>>> requestGameData(final String game,
+			final int offset) {
+		LOGGER.debug("Load game Data at offset {}", offset);
 		final String gameName = game.replace(' ', '+');
 		final int maxChannelsToLoad = Settings.getInstance().maxChannelsProperty().get();
-		final URI uri = convertToURI(
-				TWITCH_BASE_URL + "streams/?game=" + gameName + "&offset=0&limit=" + maxChannelsToLoad);
-		final String response = getAPIResponse(uri);
-		final JsonObject jo = JSONPARSER.parse(response).getAsJsonObject();
-		return new TwitchChannels(jo);
+		final URI uri = convertToURI(TWITCH_BASE_URL + "streams/?game=" + gameName + "&offset=" + offset + "&limit="
+				+ maxChannelsToLoad);
+		return getAPIResponse(uri, GAME_STREAMS_TTL, TwitchJsonDecoders.STREAMS);
 	}
 
 	public TwitchGames getGamesData() {
-		LOGGER.debug("Load gamesData");
+		return this.getGamesData(0);
+	}
+
+	/**
+	 * Loads one page of the top games, starting at offset. The page size is the
+	 * amount of games to load from the settings.
+	 *
+	 * @throws ApiException
+	 *             if the page could not be loaded
+	 */
+	public TwitchGames getGamesData(final int offset) {
+		return new TwitchGames(
+				getValueOrThrow(requestGamesData(offset).join(), "Could not load top games at offset " + offset));
+	}
+
+	private static CompletableFuture<ApiResult<List<TwitchTopGame>>> requestGamesData(final int offset) {
+		LOGGER.debug("Load gamesData at offset {}", offset);
 		final int maxGamesToLoad = Settings.getInstance().maxGamesProperty().get();
-		final URI uri = convertToURI(TWITCH_BASE_URL + "games/top?offset=0&limit=" + maxGamesToLoad);
-		final String response = getAPIResponse(uri);
-		final JsonObject jo = JSONPARSER.parse(response).getAsJsonObject();
-		return new TwitchGames(jo);
+		final URI uri = convertToURI(
+				TWITCH_BASE_URL + "games/top?offset=" + offset + "&limit=" + maxGamesToLoad);
+		return getAPIResponse(uri, TOP_GAMES_TTL, TwitchJsonDecoders.TOP_GAMES);
 	}
 
-	public Set<String> getListOfFollowedStreams(final String userName) {
-		final Set<String> followedStreams = new TreeSet<>();
-		if (!"".equals(userName) && this.channelExists(userName)) {
-			final String userId = getTwitchUserIdFromName(userName, false);
-			final URI uri = convertToURI(TWITCH_BASE_URL + "users/" + userId + "/follows/channels?limit=100");
-			JsonObject jo = JSONPARSER.parse(getAPIResponse(uri)).getAsJsonObject();
-			JsonArray streams = jo.getAsJsonArray("follows");
-			for (JsonElement je : streams) {
-				final JsonObject channel = je.getAsJsonObject().get("channel").getAsJsonObject();
-				final String name = channel.get("name").getAsString();
-				followedStreams.add(name);
-			}
+	private static <T> T getValueOrThrow(final ApiResult<T> result, final String message) {
+		if (!result.isOk()) {
+			LOGGER.warn("{}: {}", message, result);
+			throw new ApiException(message, result);
 		}
+		return result.getValue();
+	}
+
+	public Set<String> getListOfFollowedStreams(final String userName) {
+		final Set<String> followedStreams = Collections.synchronizedSet(new TreeSet<>());
+		this.importFollowedStreams(userName, followedStreams::addAll).join();
 		return followedStreams;
 	}
 
+	/**
+	 * Loads all channels the user follows page by page and hands every page to
+	 * onPage as soon as it arrives. The user ids contained in the pages are
+	 * stored in the {@link TwitchUserIdCache}, so polling the imported channels
+	 * needs no further id lookups.
+	 */
+	public CompletableFuture<Void> importFollowedStreams(final String userName, final Consumer<List<String>> onPage) {
+		final String login = TwitchUtils.normalizeChannelName(userName);
+		if (login.isEmpty()) {
+			return CompletableFuture.completedFuture(null);
+		}
+		LOGGER.debug("Import followed Streams of {}", login);
+		return getTwitchUserIdsFromNames(Collections.singleton(login)).thenCompose(userIds -> {
+			final String userId = userIds.get(login);
+			if (userId == null) {
+				LOGGER.debug("{} is no twitch channel", login);
+				return CompletableFuture.completedFuture(null);
+			}
+			return requestFollowsPage(userId, 0, onPage);
+		});
+	}
+
+	private static CompletableFuture<Void> requestFollowsPage(final String userId, final int offset,
+			final Consumer<List<String>> onPage) {
+		final URI uri = convertToURI(TWITCH_BASE_URL + "users/" + userId + "/follows/channels?limit="
+				+ MAX_IDS_PER_REQUEST + "&offset=" + offset);
+		return getAPIResponse(uri, FOLLOWS_TTL, TwitchJsonDecoders.FOLLOWS).thenCompose(result -> {
+			if (!result.isOk()) {
+				LOGGER.warn("Stopped loading followed channels at offset {}: {}", offset, result);
+				return CompletableFuture.completedFuture(null);
+			}
+			final TwitchFollowsPage follows = result.getValue();
+			final TwitchUserIdCache cache = TwitchUserIdCache.getInstance();
+			final List<String> names = new ArrayList<>(follows.getSize());
+			for (final Map.Entry<String, String> channel : follows.getUserIds().entrySet()) {
+				final String name = TwitchUtils.normalizeChannelName(channel.getKey());
+				final String id = channel.getValue();
+				if (!name.isEmpty()) {
+					names.add(name);
+					if (!id.isEmpty()) {
+						cache.putUserId(name, id);
+					}
+				}
+			}
+			LOGGER.trace("Loaded {} followed channels at offset {}", names.size(), offset);
+			if (!names.isEmpty()) {
+				onPage.accept(names);
+			}
+			final int nextOffset = offset + follows.getSize();
+			final long total = follows.getTotal() < 0 ? nextOffset : follows.getTotal();
+			if (follows.getSize() < MAX_IDS_PER_REQUEST || nextOffset >= total) {
+				return CompletableFuture.completedFuture(null);
+			}
+			return requestFollowsPage(userId, nextOffset, onPage);
+		});
+	}
+
 	public boolean channelExists(final String channel) {
 		LOGGER.debug("Checking if {} is a twitch channel", channel);
-		final String channelId = getTwitchUserIdFromName(channel, false);
-		final URI uri = convertToURI(TWITCH_BASE_URL + "streams/" + channelId);
-		if ("{}".equals(getAPIResponse(uri)) || "".equals(channel)) {
+		if ("".equals(channel) || getTwitchUserIdFromName(channel).isEmpty()) {
 			LOGGER.debug("{} is no twitch channel", channel);
 			return false;
 		}
@@ -170,21 +381,59 @@ public final class TwitchAPIClient {
 		return true;
 	}
 
-	private static String getAPIResponse(final URI apiUrl) {
+	/**
+	 * Sends the request without blocking and decodes the response while it is
+	 * read. Responses are served from the {@link HttpResponseCache} for
+	 * cacheTtlMillis, rate limiting and retries are done by the
+	 * {@link app.lsgui.remote.RequestGovernor}.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> CompletableFuture<ApiResult<T>> getAPIResponse(final URI apiUrl, final long cacheTtlMillis,
+			final ResponseDecoder<T> decoder) {
+		final String key = apiUrl.normalize().toString();
+		final InFlightRequest<T> request = new InFlightRequest<>(decoder);
+		final InFlightRequest<?> inFlight = IN_FLIGHT.putIfAbsent(key, request);
+		if (inFlight != null && inFlight.decoder == decoder) {
+			LOGGER.trace("Join in-flight Request to API URL '{}'", apiUrl);
+			return ((InFlightRequest<T>) inFlight).future;
+		}
 		LOGGER.trace("Send Request to API URL '{}'", apiUrl);
-		final HttpClient client = HttpClientInterface.getClient();
-		HttpClientInterface.startClient();
-		try {
-			final Request newRequest = client.newRequest(apiUrl);
-			newRequest.header("Client-ID", LSGUI_CLIENT_ID);
-			newRequest.header("Accept", TWITCH_API_VERSION_HEADER);
-			return newRequest.send().getContentAsString();
-		} catch (InterruptedException | ExecutionException | TimeoutException e) {
-			LOGGER.error("Error while sending GET Request", e);
-		} catch (Exception e) {
-			LOGGER.error("Could not start HTTP Client", e);
+		final Request newRequest = HttpClientInterface.newRequest(apiUrl);
+		newRequest.header("Client-ID", LSGUI_CLIENT_ID);
+		newRequest.header("Accept", TWITCH_API_VERSION_HEADER);
+		HttpResponseCache.getInstance().send(newRequest, cacheTtlMillis, decoder).whenComplete((result, throwable) -> {
+			IN_FLIGHT.remove(key, request);
+			if (throwable != null) {
+				request.future.complete(ApiResult.failed(throwable));
+				return;
+			}
+			if (!result.isOk()) {
+				LOGGER.warn("Request to '{}' failed: {}", apiUrl, result);
+			}
+			request.future.complete(result);
+		});
+		return request.future;
+	}
+
+	private static <T> CompletableFuture<List<T>> allOf(final List<CompletableFuture<T>> futures) {
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).thenApply(ignored -> {
+			final List<T> results = new ArrayList<>(futures.size());
+			futures.forEach(future -> results.add(future.join()));
+			return results;
+		});
+	}
+
+	/**
+	 * A request in flight, callers asking for the same URL while it runs share
+	 * its future.
+	 */
+	private static final class InFlightRequest<T> {
+		private final ResponseDecoder<T> decoder;
+		private final CompletableFuture<ApiResult<T>> future = new CompletableFuture<>();
+
+		private InFlightRequest(final ResponseDecoder<T> decoder) {
+			this.decoder = decoder;
 		}
-		return "{}";
 	}
 
 	private static URI convertToURI(final String url) {
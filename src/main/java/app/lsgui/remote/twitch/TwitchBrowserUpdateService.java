@@ -27,6 +27,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import app.lsgui.model.twitch.TwitchChannel;
+import app.lsgui.utils.TaskScheduler;
+import app.lsgui.utils.TaskScheduler.Priority;
 import app.lsgui.utils.TwitchUtils;
 import javafx.beans.property.ListProperty;
 import javafx.beans.property.SimpleListProperty;
@@ -34,7 +36,7 @@ import javafx.collections.FXCollections;
 import javafx.concurrent.Service;
 import javafx.concurrent.Task;
 
-public final class TwitchBrowserUpdateService extends Service<TwitchChannel> {
+public final class TwitchBrowserUpdateService extends Service<TwitchStream> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TwitchBrowserUpdateService.class);
     private static final ListProperty<TwitchChannel> ACTIVE_LIST = new SimpleListProperty<>(
@@ -47,11 +49,12 @@ public final class TwitchBrowserUpdateService extends Service<TwitchChannel> {
     }
 
     public void setUpChannel() {
+        setExecutor(TaskScheduler.getInstance().executor(Priority.USER));
         setOnSucceeded(event -> {
-            final TwitchChannel updatedChannel = (TwitchChannel) event.getSource().getValue();
-            if (updatedChannel != null) {
+            final TwitchStream snapshot = (TwitchStream) event.getSource().getValue();
+            if (snapshot != null) {
                 synchronized (this.channel) {
-                    this.channel.updateData(updatedChannel, false);
+                    this.channel.updateData(snapshot, false);
                 }
             }
             ACTIVE_LIST.remove(this.channel);
@@ -60,13 +63,13 @@ public final class TwitchBrowserUpdateService extends Service<TwitchChannel> {
     }
 
     @Override
-    protected Task<TwitchChannel> createTask() {
-        return new Task<TwitchChannel>() {
+    protected Task<TwitchStream> createTask() {
+        return new Task<TwitchStream>() {
             @Override
-            protected TwitchChannel call() throws Exception {
+            protected TwitchStream call() throws Exception {
                 TwitchUtils.addChannelToList(ACTIVE_LIST, TwitchBrowserUpdateService.this.channel);
                 return TwitchAPIClient.getInstance()
-                        .getStreamData(TwitchBrowserUpdateService.this.channel.getName().get(), true);
+                        .getStreamData(TwitchBrowserUpdateService.this.channel.getName().get());
             }
         };
     }
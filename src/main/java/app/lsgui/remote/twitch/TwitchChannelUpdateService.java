@@ -23,65 +23,161 @@
  */
 package app.lsgui.remote.twitch;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import app.lsgui.model.IChannel;
 import app.lsgui.model.twitch.TwitchChannel;
+import app.lsgui.utils.LsGuiUtils;
+import app.lsgui.utils.TaskScheduler;
+import app.lsgui.utils.TaskScheduler.Priority;
 import app.lsgui.utils.TwitchUtils;
+import javafx.application.Platform;
 import javafx.beans.property.ListProperty;
 import javafx.beans.property.SimpleListProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.concurrent.ScheduledService;
 import javafx.concurrent.Task;
+import javafx.concurrent.WorkerStateEvent;
+import javafx.event.EventHandler;
 import javafx.util.Duration;
 
 /**
+ * Polls the stream status of the channels of a service in batched requests and
+ * hands the results back to the tracked {@link TwitchChannel}s. Every channel
+ * has its own polling interval, see {@link ChannelPollSchedule}. The service
+ * wakes up every {@value #TICK_PERIOD} seconds and polls the channels which
+ * are due, but never more than {@value #MAX_REQUESTS_PER_TICK} requests worth
+ * of channels at once.
  *
  * @author Niklas 11.06.2016
  *
  */
-public final class TwitchChannelUpdateService extends ScheduledService<TwitchChannel> {
+public final class TwitchChannelUpdateService extends ScheduledService<Map<String, TwitchStream>> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TwitchChannelUpdateService.class);
     private static final ListProperty<TwitchChannel> ACTIVE_LIST = new SimpleListProperty<>(
             FXCollections.observableArrayList());
-    private static final double UPDATE_PERIOD = 60;
-    private TwitchChannel channel;
+    private static final double TICK_PERIOD = 10;
+    private static final int MAX_REQUESTS_PER_TICK = 2;
+    private static final int CHANNELS_PER_REQUEST = 100;
+    private final ObservableList<IChannel> channels;
+    private final AtomicBoolean refreshRequested = new AtomicBoolean();
+    private final ChannelPollSchedule schedule = new ChannelPollSchedule(
+            MAX_REQUESTS_PER_TICK * CHANNELS_PER_REQUEST);
+    private List<TwitchChannel> polledChannels = Collections.emptyList();
+    private boolean isFirstPoll = true;
+    private boolean refreshAfterPoll;
 
-    public TwitchChannelUpdateService(final TwitchChannel channel) {
-        LOGGER.debug("Create UpdateService for {}", channel.getName().get());
-        this.channel = channel;
+    public TwitchChannelUpdateService(final ObservableList<IChannel> channels) {
+        LOGGER.debug("Create UpdateService for {} channels", channels.size());
+        this.channels = channels;
         this.setUpConstant();
     }
 
     public void setUpConstant() {
-        setPeriod(Duration.seconds(UPDATE_PERIOD));
+        setPeriod(Duration.seconds(TICK_PERIOD));
+        setExecutor(TaskScheduler.getInstance().executor(Priority.REFRESH));
         setRestartOnFailure(true);
         setOnSucceeded(event -> {
-            final TwitchChannel updatedModel = (TwitchChannel) event.getSource().getValue();
-            if (updatedModel != null) {
-                synchronized (this.channel) {
-                    this.channel.updateData(updatedModel, true);
+            @SuppressWarnings("unchecked")
+            final Map<String, TwitchStream> snapshots = (Map<String, TwitchStream>) event.getSource().getValue();
+            final long now = System.currentTimeMillis();
+            if (snapshots == null) {
+                this.polledChannels.forEach(channel -> this.schedule.failed(channel, now));
+            } else {
+                for (final TwitchChannel channel : this.polledChannels) {
+                    final TwitchStream snapshot = snapshots
+                            .get(TwitchUtils.normalizeChannelName(channel.getName().get()));
+                    if (snapshot != null) {
+                        synchronized (channel) {
+                            channel.updateData(snapshot, true);
+                        }
+                        this.schedule.polled(channel, now);
+                    } else {
+                        this.schedule.failed(channel, now);
+                    }
+                }
+                if (this.isFirstPoll && !this.polledChannels.isEmpty()) {
+                    this.isFirstPoll = false;
+                    LOGGER.info("First poll of {} channels done {}ms after start", this.polledChannels.size(),
+                            LsGuiUtils.millisSinceStart());
                 }
             }
-            ACTIVE_LIST.remove(this.channel);
+            this.refreshIfRequested();
+        });
+        setOnFailed(event -> {
+            LOGGER.warn("Channel Update Service FAILED. Event: {}", event.getEventType());
+            final long now = System.currentTimeMillis();
+            this.polledChannels.forEach(channel -> this.schedule.failed(channel, now));
+            this.refreshIfRequested();
         });
-        setOnFailed(event -> LOGGER.warn("Channel Update Service FAILED. Event: {}", event.getEventType()));
+    }
+
+    /**
+     * Polls the channels which are due now instead of waiting for the next
+     * tick, e.g. newly added channels. A poll already running is not
+     * interrupted, the refresh follows when it is done. Multiple calls before
+     * the poll starts are coalesced into one.
+     */
+    public void requestRefresh() {
+        if (this.refreshRequested.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                this.refreshRequested.set(false);
+                if (this.getState() == State.RUNNING) {
+                    this.refreshAfterPoll = true;
+                } else {
+                    this.restart();
+                }
+            });
+        }
+    }
+
+    private void refreshIfRequested() {
+        if (this.refreshAfterPoll) {
+            this.refreshAfterPoll = false;
+            this.requestRefresh();
+        }
     }
 
     @Override
-    protected Task<TwitchChannel> createTask() {
-        return new Task<TwitchChannel>() {
+    protected Task<Map<String, TwitchStream>> createTask() {
+        final List<TwitchChannel> twitchChannels = new ArrayList<>();
+        for (final IChannel channel : this.channels) {
+            if (TwitchUtils.isTwitchChannel(channel)) {
+                twitchChannels.add((TwitchChannel) channel);
+            }
+        }
+        final List<TwitchChannel> channelsToPoll = this.schedule.selectDue(twitchChannels,
+                System.currentTimeMillis());
+        LOGGER.trace("Poll {} of {} channels", channelsToPoll.size(), this.channels.size());
+        final List<String> channelNames = new ArrayList<>();
+        channelsToPoll.forEach(channel -> channelNames.add(channel.getName().get()));
+        this.polledChannels = channelsToPoll;
+        ACTIVE_LIST.addAll(channelsToPoll);
+        final Task<Map<String, TwitchStream>> task = new Task<Map<String, TwitchStream>>() {
             @Override
-            protected TwitchChannel call() throws Exception {
-                TwitchUtils.addChannelToList(ACTIVE_LIST, TwitchChannelUpdateService.this.channel);
-                return TwitchAPIClient.getInstance()
-                        .getStreamData(TwitchChannelUpdateService.this.channel.getName().get(), false);
+            protected Map<String, TwitchStream> call() throws Exception {
+                return TwitchAPIClient.getInstance().getStreamsData(channelNames);
             }
         };
+        // Every task cleans up its own channels, a restart cancels the scheduled task
+        final EventHandler<WorkerStateEvent> done = event -> ACTIVE_LIST.removeAll(channelsToPoll);
+        task.setOnSucceeded(done);
+        task.setOnFailed(done);
+        task.setOnCancelled(done);
+        return task;
     }
 
     public static ListProperty<TwitchChannel> getActiveChannelServicesProperty() {
         return TwitchChannelUpdateService.ACTIVE_LIST;
     }
+
 }
@@ -0,0 +1,67 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.remote.twitch;
+
+import java.util.Map;
+
+/**
+ * One page of the channels a user follows.
+ */
+final class TwitchFollowsPage {
+
+    private final Map<String, String> userIds;
+    private final int size;
+    private final long total;
+
+    TwitchFollowsPage(final Map<String, String> userIds, final int size, final long total) {
+        this.userIds = userIds;
+        this.size = size;
+        this.total = total;
+    }
+
+    /**
+     * @return the user ids by channel name in the order of the page, the id
+     *         is empty if the entry had none
+     */
+    Map<String, String> getUserIds() {
+        return this.userIds;
+    }
+
+    /**
+     * @return the number of entries of the page, including entries without a
+     *         channel name
+     */
+    int getSize() {
+        return this.size;
+    }
+
+    /**
+     * @return the total number of followed channels, or -1 if the response did
+     *         not say
+     */
+    long getTotal() {
+        return this.total;
+    }
+
+}
@@ -0,0 +1,387 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.remote.twitch;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import app.lsgui.remote.ResponseDecoder;
+
+/**
+ * Decoders for the Twitch API responses. The listings are read token by token
+ * into {@link TwitchStream} and {@link TwitchTopGame} objects, fields the GUI
+ * does not use are skipped without being materialized. Channel names are
+ * returned as sent, callers normalize them.
+ */
+final class TwitchJsonDecoders {
+
+    static final ResponseDecoder<List<TwitchStream>> STREAMS = TwitchJsonDecoders::readStreams;
+    static final ResponseDecoder<List<TwitchTopGame>> TOP_GAMES = TwitchJsonDecoders::readTopGames;
+    static final ResponseDecoder<Map<String, String>> USERS = TwitchJsonDecoders::readUsers;
+    static final ResponseDecoder<TwitchFollowsPage> FOLLOWS = TwitchJsonDecoders::readFollows;
+
+    private TwitchJsonDecoders() {
+    }
+
+    private static List<TwitchStream> readStreams(final JsonReader reader) throws IOException {
+        if (!beginObject(reader)) {
+            return Collections.emptyList();
+        }
+        final List<TwitchStream> streams = new ArrayList<>();
+        while (reader.hasNext()) {
+            if ("streams".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    final TwitchStream stream = readStream(reader);
+                    if (stream != null) {
+                        streams.add(stream);
+                    }
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return Collections.unmodifiableList(streams);
+    }
+
+    private static TwitchStream readStream(final JsonReader reader) throws IOException {
+        if (!beginObject(reader)) {
+            return null;
+        }
+        String game = "";
+        int viewers = 0;
+        long startedAt = 0L;
+        boolean isPlaylist = false;
+        String previewLarge = null;
+        String previewMedium = null;
+        boolean hasChannel = false;
+        long id = 0L;
+        String name = "";
+        String displayName = "";
+        String logo = "";
+        boolean isPartnered = false;
+        String title = "";
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+            case "game":
+                game = nextString(reader);
+                break;
+            case "viewers":
+                viewers = (int) nextLong(reader);
+                break;
+            case "created_at":
+                startedAt = nextEpochMillis(reader);
+                break;
+            case "is_playlist":
+                isPlaylist = nextBoolean(reader);
+                break;
+            case "preview":
+                if (beginObject(reader)) {
+                    previewLarge = "";
+                    previewMedium = "";
+                    while (reader.hasNext()) {
+                        final String size = reader.nextName();
+                        if ("large".equals(size)) {
+                            previewLarge = nextString(reader);
+                        } else if ("medium".equals(size)) {
+                            previewMedium = nextString(reader);
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                }
+                break;
+            case "channel":
+                if (beginObject(reader)) {
+                    hasChannel = true;
+                    while (reader.hasNext()) {
+                        switch (reader.nextName()) {
+                        case "_id":
+                            id = nextLong(reader);
+                            break;
+                        case "name":
+                            name = nextString(reader);
+                            break;
+                        case "display_name":
+                            displayName = nextString(reader);
+                            break;
+                        case "logo":
+                            logo = nextString(reader);
+                            break;
+                        case "partner":
+                            isPartnered = nextBoolean(reader);
+                            break;
+                        case "status":
+                            title = nextString(reader);
+                            break;
+                        default:
+                            reader.skipValue();
+                            break;
+                        }
+                    }
+                    reader.endObject();
+                }
+                break;
+            default:
+                reader.skipValue();
+                break;
+            }
+        }
+        reader.endObject();
+        if (!hasChannel || name.isEmpty()) {
+            return null;
+        }
+        return new TwitchStream(id, name, displayName, logo, isPartnered, title, game, viewers, startedAt,
+                isPlaylist, previewLarge, previewMedium == null ? "" : previewMedium);
+    }
+
+    private static List<TwitchTopGame> readTopGames(final JsonReader reader) throws IOException {
+        if (!beginObject(reader)) {
+            return Collections.emptyList();
+        }
+        final List<TwitchTopGame> games = new ArrayList<>();
+        while (reader.hasNext()) {
+            if ("top".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    final TwitchTopGame game = readTopGame(reader);
+                    if (game != null) {
+                        games.add(game);
+                    }
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return Collections.unmodifiableList(games);
+    }
+
+    private static TwitchTopGame readTopGame(final JsonReader reader) throws IOException {
+        if (!beginObject(reader)) {
+            return null;
+        }
+        String name = "";
+        String boxUrl = "";
+        int viewers = 0;
+        int channels = 0;
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+            case "viewers":
+                viewers = (int) nextLong(reader);
+                break;
+            case "channels":
+                channels = (int) nextLong(reader);
+                break;
+            case "game":
+                if (beginObject(reader)) {
+                    while (reader.hasNext()) {
+                        final String field = reader.nextName();
+                        if ("name".equals(field)) {
+                            name = nextString(reader);
+                        } else if ("box".equals(field) && beginObject(reader)) {
+                            while (reader.hasNext()) {
+                                if ("large".equals(reader.nextName())) {
+                                    boxUrl = nextString(reader);
+                                } else {
+                                    reader.skipValue();
+                                }
+                            }
+                            reader.endObject();
+                        } else if (!"box".equals(field)) {
+                            reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                }
+                break;
+            default:
+                reader.skipValue();
+                break;
+            }
+        }
+        reader.endObject();
+        return name.isEmpty() ? null : new TwitchTopGame(name, viewers, channels, boxUrl);
+    }
+
+    /**
+     * @return the user ids by name, or null if the response has no users array
+     */
+    private static Map<String, String> readUsers(final JsonReader reader) throws IOException {
+        if (!beginObject(reader)) {
+            return null;
+        }
+        Map<String, String> userIds = null;
+        while (reader.hasNext()) {
+            if ("users".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                userIds = new LinkedHashMap<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    readUser(reader, userIds);
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return userIds == null ? null : Collections.unmodifiableMap(userIds);
+    }
+
+    /**
+     * Reads a user or channel object and puts its id by its name. Objects
+     * without a name are skipped.
+     */
+    private static void readUser(final JsonReader reader, final Map<String, String> userIds) throws IOException {
+        if (!beginObject(reader)) {
+            return;
+        }
+        String id = "";
+        String name = "";
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+            case "_id":
+                id = nextString(reader);
+                break;
+            case "name":
+                name = nextString(reader);
+                break;
+            default:
+                reader.skipValue();
+                break;
+            }
+        }
+        reader.endObject();
+        if (!name.isEmpty()) {
+            userIds.put(name, id);
+        }
+    }
+
+    private static TwitchFollowsPage readFollows(final JsonReader reader) throws IOException {
+        final Map<String, String> userIds = new LinkedHashMap<>();
+        int size = 0;
+        long total = -1L;
+        if (beginObject(reader)) {
+            while (reader.hasNext()) {
+                final String field = reader.nextName();
+                if ("_total".equals(field) && reader.peek() != JsonToken.NULL) {
+                    total = nextLong(reader);
+                } else if ("follows".equals(field) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        size++;
+                        readFollow(reader, userIds);
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        return new TwitchFollowsPage(Collections.unmodifiableMap(userIds), size, total);
+    }
+
+    private static void readFollow(final JsonReader reader, final Map<String, String> userIds) throws IOException {
+        if (!beginObject(reader)) {
+            return;
+        }
+        while (reader.hasNext()) {
+            if ("channel".equals(reader.nextName())) {
+                readUser(reader, userIds);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Enters the next object. A null value is consumed and false is returned,
+     * any other value than an object is skipped.
+     */
+    private static boolean beginObject(final JsonReader reader) throws IOException {
+        final JsonToken token = reader.peek();
+        if (token == JsonToken.BEGIN_OBJECT) {
+            reader.beginObject();
+            return true;
+        }
+        reader.skipValue();
+        return false;
+    }
+
+    private static String nextString(final JsonReader reader) throws IOException {
+        final JsonToken token = reader.peek();
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return reader.nextString();
+        }
+        reader.skipValue();
+        return "";
+    }
+
+    private static long nextLong(final JsonReader reader) throws IOException {
+        final JsonToken token = reader.peek();
+        if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+            final String value = reader.nextString();
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return 0L;
+            }
+        }
+        reader.skipValue();
+        return 0L;
+    }
+
+    private static long nextEpochMillis(final JsonReader reader) throws IOException {
+        final String value = nextString(reader);
+        try {
+            return Instant.parse(value).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return 0L;
+        }
+    }
+
+    private static boolean nextBoolean(final JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BOOLEAN) {
+            return reader.nextBoolean();
+        }
+        reader.skipValue();
+        return false;
+    }
+
+}
@@ -0,0 +1,135 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.remote.twitch;
+
+/**
+ * Immutable snapshot of the fields of a Twitch stream the GUI uses, decoded
+ * from the API response. The network and cache layers pass these around, only
+ * {@link app.lsgui.model.twitch.TwitchChannel#updateData(TwitchStream, boolean)}
+ * copies them into the JavaFX properties. The names and the game are interned,
+ * so the values repeated in every poll share one instance. Titles, logos and
+ * preview URLs are set by the streamers and kept as they are, interning them
+ * would grow the string pool without bound. A snapshot without a
+ * preview or start time is incomplete and treated as offline.
+ */
+public final class TwitchStream {
+
+    private final long id;
+    private final String name;
+    private final String displayName;
+    private final String logo;
+    private final boolean isPartnered;
+    private final String title;
+    private final String game;
+    private final int viewers;
+    private final long startedAt;
+    private final boolean isPlaylist;
+    private final String previewLarge;
+    private final String previewMedium;
+
+    TwitchStream(final long id, final String name, final String displayName, final String logo,
+            final boolean isPartnered, final String title, final String game, final int viewers,
+            final long startedAt, final boolean isPlaylist, final String previewLarge,
+            final String previewMedium) {
+        this.id = id;
+        this.name = intern(name);
+        this.displayName = intern(displayName);
+        this.logo = logo;
+        this.isPartnered = isPartnered;
+        this.title = title;
+        this.game = intern(game);
+        this.viewers = viewers;
+        this.startedAt = startedAt;
+        this.isPlaylist = isPlaylist;
+        this.previewLarge = previewLarge;
+        this.previewMedium = previewMedium;
+    }
+
+    public long getId() {
+        return this.id;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public String getDisplayName() {
+        return this.displayName;
+    }
+
+    public String getLogo() {
+        return this.logo;
+    }
+
+    public boolean isPartnered() {
+        return this.isPartnered;
+    }
+
+    public String getTitle() {
+        return this.title;
+    }
+
+    public String getGame() {
+        return this.game;
+    }
+
+    public int getViewers() {
+        return this.viewers;
+    }
+
+    /**
+     * @return the start of the stream in epoch milliseconds
+     */
+    public long getStartedAt() {
+        return this.startedAt;
+    }
+
+    public boolean isPlaylist() {
+        return this.isPlaylist;
+    }
+
+    public String getPreviewLarge() {
+        return this.previewLarge;
+    }
+
+    public String getPreviewMedium() {
+        return this.previewMedium;
+    }
+
+    public boolean isComplete() {
+        return this.previewLarge != null && this.startedAt > 0L;
+    }
+
+    /**
+     * @return an incomplete snapshot for a channel which is not streaming
+     */
+    public static TwitchStream offline(final String name) {
+        return new TwitchStream(0L, name, name, "", false, "", "", 0, 0L, false, null, "");
+    }
+
+    private static String intern(final String value) {
+        return value == null ? null : value.intern();
+    }
+
+}
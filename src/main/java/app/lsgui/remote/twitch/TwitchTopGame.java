@@ -0,0 +1,59 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.remote.twitch;
+
+/**
+ * One entry of the top games listing.
+ */
+public final class TwitchTopGame {
+
+    private final String name;
+    private final int viewers;
+    private final int channels;
+    private final String boxUrl;
+
+    TwitchTopGame(final String name, final int viewers, final int channels, final String boxUrl) {
+        this.name = name;
+        this.viewers = viewers;
+        this.channels = channels;
+        this.boxUrl = boxUrl;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public int getViewers() {
+        return this.viewers;
+    }
+
+    public int getChannels() {
+        return this.channels;
+    }
+
+    public String getBoxUrl() {
+        return this.boxUrl;
+    }
+
+}
@@ -0,0 +1,175 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.remote.twitch;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import app.lsgui.utils.JsonUtils;
+import app.lsgui.utils.LsGuiUtils;
+import app.lsgui.utils.Settings;
+
+/**
+ * Remembers which Twitch user id belongs to a login name. Resolved ids are
+ * revalidated after {@link #ID_TTL}, logins without a user after
+ * {@link #MISSING_TTL}. The cache is stored next to the settings file, expired
+ * entries are neither saved nor loaded, so the file only holds the channels
+ * looked up recently.
+ */
+public final class TwitchUserIdCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TwitchUserIdCache.class);
+    private static final String CACHE_FILE = "userids.json";
+    private static final long ID_TTL = TimeUnit.DAYS.toMillis(7);
+    private static final long MISSING_TTL = TimeUnit.HOURS.toMillis(1);
+    private static final String NAME = "name";
+    private static final String ID = "id";
+    private static final String RESOLVED = "resolved";
+
+    private static TwitchUserIdCache instance;
+
+    private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final File file;
+    private volatile boolean isDirty;
+
+    private TwitchUserIdCache(final File file) {
+        this.file = file;
+        this.loadFromFile();
+    }
+
+    public static synchronized TwitchUserIdCache getInstance() {
+        if (instance == null) {
+            final File file = Settings.getInstance().getFilePath().resolve(CACHE_FILE).toFile();
+            instance = new TwitchUserIdCache(file);
+        }
+        return instance;
+    }
+
+    /**
+     * @return the cached user id, an empty String if the login is known to have
+     *         no user or null if the login has to be resolved
+     */
+    public String getUserId(final String login) {
+        final CacheEntry entry = this.entries.get(login);
+        if (entry == null || entry.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        return entry.userId;
+    }
+
+    /**
+     * @return the last known user id, regardless of its age, or null
+     */
+    public String getStaleUserId(final String login) {
+        final CacheEntry entry = this.entries.get(login);
+        if (entry == null || entry.userId.isEmpty()) {
+            return null;
+        }
+        return entry.userId;
+    }
+
+    public void putUserId(final String login, final String userId) {
+        this.entries.put(login, new CacheEntry(userId, System.currentTimeMillis()));
+        this.isDirty = true;
+    }
+
+    public void putMissing(final String login) {
+        LOGGER.debug("No Twitch user for login '{}'", login);
+        this.putUserId(login, "");
+    }
+
+    public synchronized void save() {
+        if (!this.isDirty) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final JsonArray jsonArray = new JsonArray();
+        for (final Map.Entry<String, CacheEntry> entry : this.entries.entrySet()) {
+            if (entry.getValue().isExpired(now)) {
+                continue;
+            }
+            final JsonObject jsonEntry = new JsonObject();
+            jsonEntry.addProperty(NAME, entry.getKey());
+            jsonEntry.addProperty(ID, entry.getValue().userId);
+            jsonEntry.addProperty(RESOLVED, entry.getValue().resolvedAt);
+            jsonArray.add(jsonEntry);
+        }
+        LOGGER.debug("Save {} of {} user ids to {}", jsonArray.size(), this.entries.size(), this.file);
+        final boolean createdDirs = this.file.getParentFile().mkdirs();
+        LOGGER.trace("Settings Dir created? {}", createdDirs);
+        JsonUtils.writeJsonToFile(this.file, jsonArray);
+        this.isDirty = false;
+    }
+
+    private void loadFromFile() {
+        if (!this.file.isFile() || LsGuiUtils.isFileEmpty(this.file)) {
+            return;
+        }
+        final JsonArray jsonArray = JsonUtils.getJsonArrayFromFile(this.file);
+        if (jsonArray == null) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        for (final JsonElement element : jsonArray) {
+            if (element.isJsonObject()) {
+                final JsonObject jsonEntry = element.getAsJsonObject();
+                final String login = JsonUtils.getStringIfNotNull(NAME, jsonEntry);
+                final String userId = JsonUtils.getStringIfNotNull(ID, jsonEntry);
+                final long resolvedAt = JsonUtils.getLongSafe(jsonEntry.get(RESOLVED), 0L);
+                final CacheEntry entry = new CacheEntry(userId, resolvedAt);
+                if (!login.isEmpty() && !entry.isExpired(now)) {
+                    this.entries.put(login, entry);
+                } else {
+                    this.isDirty = true;
+                }
+            }
+        }
+        LOGGER.debug("Loaded {} user ids from {}", this.entries.size(), this.file);
+    }
+
+    private static final class CacheEntry {
+
+        private final String userId;
+        private final long resolvedAt;
+
+        CacheEntry(final String userId, final long resolvedAt) {
+            this.userId = userId;
+            this.resolvedAt = resolvedAt;
+        }
+
+        boolean isExpired(final long now) {
+            final long ttl = this.userId.isEmpty() ? MISSING_TTL : ID_TTL;
+            return now - this.resolvedAt > ttl;
+        }
+    }
+}
@@ -23,25 +23,29 @@
  */
 package app.lsgui.utils;
 
-import java.util.Locale;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import app.lsgui.gui.twitchbrowser.BrowserTab;
 import app.lsgui.gui.twitchbrowser.BrowserTabPane;
-import app.lsgui.model.twitch.ITwitchItem;
-import app.lsgui.model.twitch.TwitchChannel;
 import app.lsgui.model.twitch.TwitchChannels;
-import app.lsgui.model.twitch.TwitchGame;
-import app.lsgui.model.twitch.TwitchGames;
+import app.lsgui.remote.ApiException;
 import app.lsgui.remote.twitch.TwitchAPIClient;
+import app.lsgui.utils.TaskScheduler.Priority;
+import javafx.application.Platform;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 import javafx.scene.Node;
 import javafx.scene.control.ScrollBar;
 
@@ -57,6 +61,7 @@ public final class BrowserCore {
     private static BrowserCore instance;
     private ObjectProperty<String> qualityProperty = new SimpleObjectProperty<>();
     private BrowserTabPane tabPane;
+    private final Map<BrowserTab, List<TwitchChannels>> gamePages = new IdentityHashMap<>();
 
     private BrowserCore() {
     }
@@ -88,7 +93,6 @@ public final class BrowserCore {
 
     public void goToHome() {
         LOGGER.debug("Go to home");
-        final TwitchGames games = TwitchAPIClient.getInstance().getGamesData();
         final BrowserTab homeTab;
         if (this.tabPane.getTabs().isEmpty()) {
             homeTab = new BrowserTab("Home");
@@ -98,8 +102,10 @@ public final class BrowserCore {
             homeTab = this.tabPane.getBrowserTabs().get(0);
             this.scrollToTop();
         }
-        homeTab.itemsProperty().set(games.getGames());
-        homeTab.activeItemsProperty().set(games.getGames());
+        homeTab.setOnNearEnd(() -> this.loadNextPage(homeTab,
+                offset -> TwitchAPIClient.getInstance().getGamesData(offset).getGames(), homeTab::appendPage));
+        this.loadInBackground(homeTab, TwitchAPIClient.getInstance()::getGamesData,
+                games -> homeTab.setFirstPage(games.getGames()));
     }
 
     public void openGame(final String game) {
@@ -117,10 +123,64 @@ public final class BrowserCore {
         } else {
             gameTab = this.addGameTab(game);
         }
-        final TwitchChannels channels = TwitchAPIClient.getInstance().getGameData(game);
-        gameTab.itemsProperty().set(channels.getChannels());
-        gameTab.activeItemsProperty().set(channels.getChannels());
-        this.scrollToTop();
+        // The pages are built on the worker, their update services are started here on the JavaFX thread
+        final List<TwitchChannels> loadedPages = this.gamePages.computeIfAbsent(gameTab, tab -> {
+            tab.setOnClosed(event -> this.gamePages.remove(tab).forEach(TwitchChannels::cancelUpdates));
+            return new ArrayList<>();
+        });
+        final IntFunction<TwitchChannels> pageLoader = offset -> TwitchAPIClient.getInstance().getGameData(game,
+                offset);
+        gameTab.setOnNearEnd(() -> this.loadNextPage(gameTab, pageLoader, page -> {
+            page.startUpdates();
+            loadedPages.add(page);
+            gameTab.appendPage(page.getChannels());
+        }));
+        this.loadInBackground(gameTab, () -> pageLoader.apply(0), page -> {
+            // A refresh replaces all pages shown so far
+            loadedPages.forEach(TwitchChannels::cancelUpdates);
+            loadedPages.clear();
+            page.startUpdates();
+            loadedPages.add(page);
+            gameTab.setFirstPage(page.getChannels());
+            this.scrollToTop();
+        });
+    }
+
+    private <T> void loadNextPage(final BrowserTab tab, final IntFunction<T> pageLoader, final Consumer<T> onLoaded) {
+        if (tab.loadingProperty().get() || !tab.hasMoreItems()) {
+            return;
+        }
+        final int offset = tab.getNextOffset();
+        LOGGER.debug("Load next page of '{}' at offset {}", tab.getText(), offset);
+        this.loadInBackground(tab, () -> pageLoader.apply(offset), onLoaded);
+    }
+
+    /**
+     * Loads the data for the tab on a background thread and hands it to
+     * onLoaded on the JavaFX thread. Loads for tabs closed in the meantime are
+     * dropped. A failed load does not call onLoaded, so the tab keeps its items
+     * and its paging state and the next scroll requests the same page again.
+     */
+    private <T> void loadInBackground(final BrowserTab tab, final Supplier<T> loader, final Consumer<T> onLoaded) {
+        tab.loadingProperty().set(true);
+        TaskScheduler.getInstance().submit(Priority.USER, () -> {
+            T result = null;
+            try {
+                result = loader.get();
+            } catch (ApiException e) {
+                LOGGER.debug("Request for tab '{}' failed", tab.getText(), e);
+            } catch (RuntimeException e) {
+                LOGGER.error("ERROR while loading data for tab '{}'", tab.getText(), e);
+            }
+            final T loadedData = result;
+            Platform.runLater(() -> {
+                tab.loadingProperty().set(false);
+                if (loadedData != null && !tab.isClosed()) {
+                    onLoaded.accept(loadedData);
+                }
+            });
+            return loadedData;
+        }, tab::isClosed);
     }
 
     private boolean gameTabAlreadyExists(final String game) {
@@ -137,19 +197,9 @@ public final class BrowserCore {
 
     public void filter(final String filter) {
         final BrowserTab currentTab = this.tabPane.getSelectedItem();
-        final ObservableList<ITwitchItem> oldItems = currentTab.itemsProperty().get();
-        final FilteredList<ITwitchItem> filteredItems = new FilteredList<>(oldItems);
-        filteredItems.setPredicate(item -> {
-            if (item.isTwitchGame()) {
-                final TwitchGame game = (TwitchGame) item;
-                return game.getName().get().toLowerCase(Locale.ENGLISH).contains(filter);
-            } else if (item.isTwitchChannel()) {
-                final TwitchChannel channel = (TwitchChannel) item;
-                return channel.getName().get().toLowerCase(Locale.ENGLISH).contains(filter);
-            }
-            return true;
-        });
-        currentTab.activeItemsProperty().set(filteredItems);
+        if (currentTab != null) {
+            currentTab.filter(filter);
+        }
     }
 
     private void scrollToTop() {
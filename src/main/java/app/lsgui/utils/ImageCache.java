@@ -0,0 +1,155 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.utils;
+
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javafx.scene.image.Image;
+
+/**
+ * Shared cache for images loaded from URLs. Decoded images are kept until
+ * their estimated size exceeds the memory budget, then the least recently used
+ * ones are only softly referenced so the garbage collector can reclaim them.
+ * The downloads themselves are kept on disk by the {@link ImageDiskCache} once
+ * it is installed.
+ */
+public final class ImageCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageCache.class);
+    private static final long MAX_BYTES = 64L * 1024L * 1024L;
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private static ImageCache instance;
+
+    private final Map<String, CachedImage> images = new LinkedHashMap<>(16, 0.75F, true);
+    private final Map<String, SoftReference<CachedImage>> evictedImages = new HashMap<>();
+    private long hits;
+    private long misses;
+
+    private ImageCache() {
+    }
+
+    public static synchronized ImageCache getInstance() {
+        if (instance == null) {
+            instance = new ImageCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the image for the URL decoded and smoothly scaled to fit the
+     * requested size, keeping its ratio. Every size is cached as its own
+     * variant. A requested width or height of zero keeps the source size in
+     * that dimension. The image is reloaded once it is older than
+     * maxAgeMillis, a maximum age of zero or less never expires.
+     *
+     * @return null for an empty URL
+     */
+    public synchronized Image getImage(final String url, final int requestedWidth, final int requestedHeight,
+            final long maxAgeMillis) {
+        if (url == null || url.isEmpty()) {
+            return null;
+        }
+        final String key = url + '@' + requestedWidth + 'x' + requestedHeight;
+        final long now = System.currentTimeMillis();
+        CachedImage cached = this.images.get(key);
+        if (cached == null) {
+            final SoftReference<CachedImage> reference = this.evictedImages.remove(key);
+            cached = reference == null ? null : reference.get();
+        }
+        if (cached != null && !cached.image.isError()
+                && (maxAgeMillis <= 0 || now - cached.loadedAt < maxAgeMillis)) {
+            this.hits++;
+            this.images.put(key, cached);
+            return cached.image;
+        }
+        LOGGER.trace("Load image {} in size {}x{}", url, requestedWidth, requestedHeight);
+        this.misses++;
+        final Image image = new Image(url, requestedWidth, requestedHeight, true, true, true);
+        this.images.put(key, new CachedImage(image, now));
+        this.trimToBudget();
+        if (image.getProgress() < 1.0D) {
+            // The size of images without a requested size is only known once they are loaded
+            image.progressProperty().addListener((observable, oldValue, newValue) -> {
+                if (newValue.doubleValue() >= 1.0D) {
+                    this.imageLoaded();
+                }
+            });
+        }
+        return image;
+    }
+
+    private synchronized void imageLoaded() {
+        this.trimToBudget();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "hits=" + this.hits + ", misses=" + this.misses + ", images=" + this.images.size();
+    }
+
+    private void trimToBudget() {
+        long totalBytes = 0L;
+        for (final CachedImage cached : this.images.values()) {
+            totalBytes += cached.getEstimatedBytes();
+        }
+        final Iterator<Map.Entry<String, CachedImage>> iterator = this.images.entrySet().iterator();
+        while (totalBytes > MAX_BYTES && this.images.size() > 1 && iterator.hasNext()) {
+            final Map.Entry<String, CachedImage> eldest = iterator.next();
+            totalBytes -= eldest.getValue().getEstimatedBytes();
+            iterator.remove();
+            this.evictedImages.put(eldest.getKey(), new SoftReference<>(eldest.getValue()));
+        }
+        this.evictedImages.values().removeIf(reference -> reference.get() == null);
+    }
+
+    private static final class CachedImage {
+        private final Image image;
+        private final long loadedAt;
+
+        private CachedImage(final Image image, final long loadedAt) {
+            this.image = image;
+            this.loadedAt = loadedAt;
+        }
+
+        /**
+         * While the image is loading its size is zero, the requested size is
+         * used instead.
+         */
+        private long getEstimatedBytes() {
+            final double width = this.image.getWidth() > 0 ? this.image.getWidth() : this.image.getRequestedWidth();
+            final double height = this.image.getHeight() > 0 ? this.image.getHeight()
+                    : this.image.getRequestedHeight();
+            return (long) width * (long) height * BYTES_PER_PIXEL;
+        }
+    }
+
+}
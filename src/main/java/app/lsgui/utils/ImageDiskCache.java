@@ -0,0 +1,434 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.utils;
+
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.CacheRequest;
+import java.net.CacheResponse;
+import java.net.HttpURLConnection;
+import java.net.ResponseCache;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jetty.client.api.ContentResponse;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import app.lsgui.remote.HttpClientInterface;
+
+/**
+ * Stores downloaded images in the settings folder. The application installs it
+ * as the default {@link ResponseCache} at startup, so images loaded by JavaFX
+ * from http URLs are written to disk on the first download and read from disk
+ * afterwards. Expired
+ * images are still served from disk while a conditional request revalidates
+ * them in the background.
+ */
+public final class ImageDiskCache extends ResponseCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageDiskCache.class);
+    private static final String CACHE_DIR = "images";
+    private static final String INDEX_FILE = "index.json";
+    private static final long DEFAULT_TTL = TimeUnit.HOURS.toMillis(1);
+    private static final long MAX_UNUSED_AGE = TimeUnit.DAYS.toMillis(30);
+    private static final Pattern MAX_AGE_PATTERN = Pattern.compile("max-age=(\\d+)");
+    private static final String URL = "url";
+    private static final String FILE = "file";
+    private static final String HASH = "hash";
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String CONTENT_TYPE = "contentType";
+    private static final String EXPIRES = "expires";
+    private static final String USED = "used";
+
+    private static ImageDiskCache instance;
+
+    private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final Path directory;
+    private volatile boolean isDirty;
+
+    private ImageDiskCache(final Path directory) {
+        this.directory = directory;
+        this.loadIndex();
+    }
+
+    public static synchronized ImageDiskCache getInstance() {
+        if (instance == null) {
+            instance = new ImageDiskCache(Settings.getInstance().getFilePath().resolve(CACHE_DIR));
+        }
+        return instance;
+    }
+
+    @Override
+    public CacheResponse get(final URI uri, final String requestMethod,
+            final Map<String, List<String>> requestHeaders) {
+        if (!"GET".equals(requestMethod)) {
+            return null;
+        }
+        final String url = uri.toString();
+        final CacheEntry entry = this.entries.get(url);
+        if (entry == null) {
+            return null;
+        }
+        final Path file = this.directory.resolve(entry.fileName);
+        if (!Files.isRegularFile(file)) {
+            this.entries.remove(url, entry);
+            return null;
+        }
+        final long now = System.currentTimeMillis();
+        entry.lastUsed = now;
+        this.isDirty = true;
+        if (entry.expiresAt <= now) {
+            this.revalidate(url, entry);
+        }
+        LOGGER.trace("Serve {} from disk", url);
+        return new DiskCacheResponse(file, entry.contentType);
+    }
+
+    @Override
+    public CacheRequest put(final URI uri, final URLConnection connection) throws IOException {
+        if (!(connection instanceof HttpURLConnection)
+                || !"GET".equals(((HttpURLConnection) connection).getRequestMethod())) {
+            return null;
+        }
+        final String contentType = connection.getContentType();
+        final String cacheControl = connection.getHeaderField("Cache-Control");
+        if (contentType == null || !contentType.startsWith("image/")
+                || cacheControl != null && cacheControl.contains("no-store")) {
+            return null;
+        }
+        final CacheEntry entry = new CacheEntry(toFileName(uri.toString()), null,
+                connection.getHeaderField("ETag"), connection.getHeaderField("Last-Modified"), contentType,
+                expiresAt(cacheControl), System.currentTimeMillis());
+        return new DiskCacheRequest(uri.toString(), entry);
+    }
+
+    public synchronized void save() {
+        if (!this.isDirty) {
+            return;
+        }
+        LOGGER.debug("Save index of {} cached images", this.entries.size());
+        final JsonArray jsonArray = new JsonArray();
+        for (final Map.Entry<String, CacheEntry> mapEntry : this.entries.entrySet()) {
+            final CacheEntry entry = mapEntry.getValue();
+            final JsonObject jsonEntry = new JsonObject();
+            jsonEntry.addProperty(URL, mapEntry.getKey());
+            jsonEntry.addProperty(FILE, entry.fileName);
+            jsonEntry.addProperty(HASH, entry.contentHash);
+            jsonEntry.addProperty(ETAG, entry.etag);
+            jsonEntry.addProperty(LAST_MODIFIED, entry.lastModified);
+            jsonEntry.addProperty(CONTENT_TYPE, entry.contentType);
+            jsonEntry.addProperty(EXPIRES, entry.expiresAt);
+            jsonEntry.addProperty(USED, entry.lastUsed);
+            jsonArray.add(jsonEntry);
+        }
+        final boolean createdDirs = this.directory.toFile().mkdirs();
+        LOGGER.trace("Image cache Dir created? {}", createdDirs);
+        JsonUtils.writeJsonToFile(this.directory.resolve(INDEX_FILE).toFile(), jsonArray);
+        this.isDirty = false;
+    }
+
+    private void revalidate(final String url, final CacheEntry entry) {
+        if (!this.revalidating.add(url)) {
+            return;
+        }
+        LOGGER.trace("Revalidate {}", url);
+        final Request request = HttpClientInterface.newRequest(url);
+        if (entry.etag != null) {
+            request.header(HttpHeader.IF_NONE_MATCH, entry.etag);
+        }
+        if (entry.lastModified != null) {
+            request.header(HttpHeader.IF_MODIFIED_SINCE, entry.lastModified);
+        }
+        HttpClientInterface.sendForContent(request).whenComplete((response, throwable) -> {
+            try {
+                if (throwable != null) {
+                    LOGGER.debug("Could not revalidate {}", url, throwable);
+                } else if (response.getStatus() == HttpStatus.NOT_MODIFIED_304) {
+                    this.store(url, entry.withExpiry(expiresAt(response.getHeaders().get(HttpHeader.CACHE_CONTROL))));
+                } else if (response.getStatus() == HttpStatus.OK_200) {
+                    this.storeContent(url, entry, response);
+                }
+            } catch (IOException e) {
+                LOGGER.error("ERROR while caching image {}", url, e);
+            } finally {
+                this.revalidating.remove(url);
+            }
+        });
+    }
+
+    private void storeContent(final String url, final CacheEntry entry, final ContentResponse response)
+            throws IOException {
+        final byte[] content = response.getContent();
+        final String contentHash = toHex(newDigest().digest(content));
+        final CacheEntry updatedEntry = new CacheEntry(entry.fileName, contentHash,
+                response.getHeaders().get(HttpHeader.ETAG), response.getHeaders().get(HttpHeader.LAST_MODIFIED),
+                entry.contentType, expiresAt(response.getHeaders().get(HttpHeader.CACHE_CONTROL)), entry.lastUsed);
+        if (!contentHash.equals(entry.contentHash)) {
+            LOGGER.trace("Image {} changed", url);
+            final Path tempFile = this.createTempFile();
+            Files.write(tempFile, content);
+            Files.move(tempFile, this.directory.resolve(entry.fileName), StandardCopyOption.REPLACE_EXISTING);
+        }
+        this.store(url, updatedEntry);
+    }
+
+    private void store(final String url, final CacheEntry entry) {
+        this.entries.put(url, entry);
+        this.isDirty = true;
+    }
+
+    private Path createTempFile() throws IOException {
+        Files.createDirectories(this.directory);
+        return Files.createTempFile(this.directory, "download", ".tmp");
+    }
+
+    private void loadIndex() {
+        final File indexFile = this.directory.resolve(INDEX_FILE).toFile();
+        if (indexFile.isFile() && !LsGuiUtils.isFileEmpty(indexFile)) {
+            final JsonArray jsonArray = JsonUtils.getJsonArrayFromFile(indexFile);
+            final long now = System.currentTimeMillis();
+            for (final JsonElement element : jsonArray == null ? new JsonArray() : jsonArray) {
+                if (element.isJsonObject()) {
+                    final JsonObject jsonEntry = element.getAsJsonObject();
+                    final CacheEntry entry = new CacheEntry(JsonUtils.getStringIfNotNull(FILE, jsonEntry),
+                            JsonUtils.getStringSafe(jsonEntry.get(HASH), null),
+                            JsonUtils.getStringSafe(jsonEntry.get(ETAG), null),
+                            JsonUtils.getStringSafe(jsonEntry.get(LAST_MODIFIED), null),
+                            JsonUtils.getStringIfNotNull(CONTENT_TYPE, jsonEntry),
+                            JsonUtils.getLongSafe(jsonEntry.get(EXPIRES), 0L),
+                            JsonUtils.getLongSafe(jsonEntry.get(USED), 0L));
+                    if (!entry.fileName.isEmpty() && now - entry.lastUsed < MAX_UNUSED_AGE) {
+                        this.entries.put(JsonUtils.getStringIfNotNull(URL, jsonEntry), entry);
+                    }
+                }
+            }
+        }
+        this.deleteUnreferencedFiles();
+        LOGGER.debug("Loaded {} cached images", this.entries.size());
+    }
+
+    private void deleteUnreferencedFiles() {
+        if (!Files.isDirectory(this.directory)) {
+            return;
+        }
+        final Set<String> referencedFiles = ConcurrentHashMap.newKeySet();
+        referencedFiles.add(INDEX_FILE);
+        this.entries.values().forEach(entry -> referencedFiles.add(entry.fileName));
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(this.directory)) {
+            for (final Path file : files) {
+                if (!referencedFiles.contains(file.getFileName().toString())) {
+                    Files.deleteIfExists(file);
+                    this.isDirty = true;
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("ERROR while cleaning up image cache", e);
+        }
+    }
+
+    private static long expiresAt(final String cacheControl) {
+        long ttl = DEFAULT_TTL;
+        if (cacheControl != null) {
+            final Matcher matcher = MAX_AGE_PATTERN.matcher(cacheControl.toLowerCase(Locale.ENGLISH));
+            if (matcher.find()) {
+                ttl = TimeUnit.SECONDS.toMillis(Long.parseLong(matcher.group(1)));
+            }
+        }
+        return System.currentTimeMillis() + ttl;
+    }
+
+    private static String toFileName(final String url) {
+        return toHex(newDigest().digest(url.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    private static final class CacheEntry {
+        private final String fileName;
+        private final String contentHash;
+        private final String etag;
+        private final String lastModified;
+        private final String contentType;
+        private final long expiresAt;
+        private volatile long lastUsed;
+
+        private CacheEntry(final String fileName, final String contentHash, final String etag,
+                final String lastModified, final String contentType, final long expiresAt, final long lastUsed) {
+            this.fileName = fileName;
+            this.contentHash = contentHash;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.contentType = contentType;
+            this.expiresAt = expiresAt;
+            this.lastUsed = lastUsed;
+        }
+
+        private CacheEntry withExpiry(final long newExpiresAt) {
+            return new CacheEntry(this.fileName, this.contentHash, this.etag, this.lastModified, this.contentType,
+                    newExpiresAt, this.lastUsed);
+        }
+
+        private CacheEntry withContentHash(final String newContentHash) {
+            return new CacheEntry(this.fileName, newContentHash, this.etag, this.lastModified, this.contentType,
+                    this.expiresAt, this.lastUsed);
+        }
+    }
+
+    private static final class DiskCacheResponse extends CacheResponse {
+        private final Path file;
+        private final String contentType;
+
+        private DiskCacheResponse(final Path file, final String contentType) {
+            this.file = file;
+            this.contentType = contentType;
+        }
+
+        @Override
+        public Map<String, List<String>> getHeaders() throws IOException {
+            final Map<String, List<String>> headers = new HashMap<>();
+            headers.put(null, Collections.singletonList("HTTP/1.1 200 OK"));
+            headers.put("Content-Type", Collections.singletonList(this.contentType));
+            headers.put("Content-Length", Arrays.asList(Long.toString(Files.size(this.file))));
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return Files.newInputStream(this.file);
+        }
+    }
+
+    /**
+     * Writes the downloaded image to a temporary file and moves it into the
+     * cache once the download completed.
+     */
+    private final class DiskCacheRequest extends CacheRequest {
+        private final String url;
+        private final CacheEntry entry;
+        private Path tempFile;
+        private OutputStream body;
+        private boolean isAborted;
+        private boolean isCompleted;
+
+        private DiskCacheRequest(final String url, final CacheEntry entry) {
+            this.url = url;
+            this.entry = entry;
+        }
+
+        @Override
+        public synchronized OutputStream getBody() throws IOException {
+            if (this.body == null) {
+                this.tempFile = ImageDiskCache.this.createTempFile();
+                final MessageDigest digest = newDigest();
+                this.body = new FilterOutputStream(
+                        new DigestOutputStream(Files.newOutputStream(this.tempFile), digest)) {
+                    @Override
+                    public void write(final byte[] b, final int off, final int len) throws IOException {
+                        this.out.write(b, off, len);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        super.close();
+                        DiskCacheRequest.this.complete(toHex(digest.digest()));
+                    }
+                };
+            }
+            return this.body;
+        }
+
+        @Override
+        public synchronized void abort() {
+            this.isAborted = true;
+            try {
+                if (this.body != null) {
+                    this.body.close();
+                }
+                if (this.tempFile != null) {
+                    Files.deleteIfExists(this.tempFile);
+                }
+            } catch (IOException e) {
+                LOGGER.debug("Could not discard download of {}", this.url, e);
+            }
+        }
+
+        private synchronized void complete(final String contentHash) throws IOException {
+            if (this.isAborted || this.isCompleted) {
+                return;
+            }
+            this.isCompleted = true;
+            Files.move(this.tempFile, ImageDiskCache.this.directory.resolve(this.entry.fileName),
+                    StandardCopyOption.REPLACE_EXISTING);
+            ImageDiskCache.this.store(this.url, this.entry.withContentHash(contentHash));
+            LOGGER.trace("Cached {} on disk", this.url);
+        }
+    }
+
+}
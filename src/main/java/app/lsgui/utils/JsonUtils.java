@@ -60,6 +60,13 @@ public final class JsonUtils {
         return defaultValue;
     }
 
+    public static long getLongSafe(final JsonElement element, final long defaultValue) {
+        if (element != null && !element.isJsonNull()) {
+            return element.getAsLong();
+        }
+        return defaultValue;
+    }
+
     public static boolean getBooleanSafe(final JsonElement element, final boolean defaultValue) {
         if (element != null && !element.isJsonNull()) {
             return element.getAsBoolean();
@@ -42,6 +42,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.stream.JsonReader;
 
+import app.lsgui.utils.TaskScheduler.Priority;
 import javafx.application.Platform;
 
 /**
@@ -91,19 +92,16 @@ public final class LivestreamerUtils {
 
     public static void startLivestreamer(final String url, final String quality) {
         LOGGER.info("Starting Stream {} with Quality {}", url, quality);
-        final Thread t = new Thread(() -> {
+        TaskScheduler.getInstance().submit(Priority.USER, () -> {
             try {
                 final ProcessBuilder processBuilder = new ProcessBuilder(getRunCommand(url, quality));
                 processBuilder.redirectOutput(Redirect.INHERIT);
                 processBuilder.redirectError(Redirect.INHERIT);
-                final Process process = processBuilder.start();
-                process.waitFor();
-            } catch (IOException | InterruptedException e) {
+                processBuilder.start();
+            } catch (IOException e) {
                 LOGGER.error("ERROR while running livestreamer", e);
             }
         });
-        t.setDaemon(true);
-        t.start();
     }
 
     private static List<String> getRunCommand(final String url, final String quality) {
@@ -132,23 +130,20 @@ public final class LivestreamerUtils {
 
     public static void recordLivestreamer(final String url, final String quality, final File filePath) {
         LOGGER.info("Record Stream {} with Quality {} to file {}", url, quality, filePath);
-        Thread t = new Thread(() -> {
+        String path = "\"" + filePath.getAbsolutePath() + "\"";
+        path = path.replace('\\', '/');
+        Settings.getInstance().recordingPathProperty().set(path);
+        final List<String> command = Arrays.asList(getLivestreamerExe(), "-o", path, url, quality + ",best,worst");
+        TaskScheduler.getInstance().submit(Priority.USER, () -> {
             try {
-                String path = "\"" + filePath.getAbsolutePath() + "\"";
-                path = path.replace('\\', '/');
-                Settings.getInstance().recordingPathProperty().set(path);
-                ProcessBuilder pb = new ProcessBuilder(
-                        Arrays.asList(getLivestreamerExe(), "-o", path, url, quality + ",best,worst"));
+                ProcessBuilder pb = new ProcessBuilder(command);
                 pb.redirectOutput(Redirect.INHERIT);
                 pb.redirectError(Redirect.INHERIT);
-                Process prc = pb.start();
-                prc.waitFor();
-            } catch (IOException | InterruptedException e) {
+                pb.start();
+            } catch (IOException e) {
                 LOGGER.error("ERROR while recording", e);
             }
         });
-        t.setDaemon(true);
-        t.start();
     }
 
     private static String getLivestreamerExe() {
@@ -30,6 +30,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
@@ -43,7 +44,10 @@ import org.slf4j.LoggerFactory;
 import app.lsgui.model.IChannel;
 import app.lsgui.model.IService;
 import app.lsgui.model.generic.GenericService;
+import app.lsgui.model.twitch.TwitchService;
 import app.lsgui.remote.twitch.TwitchAPIClient;
+import app.lsgui.utils.TaskScheduler.Priority;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.stage.FileChooser;
@@ -64,6 +68,14 @@ public final class LsGuiUtils {
     private LsGuiUtils() {
     }
 
+    /**
+     * @return the milliseconds since the JVM was started, used to measure the
+     *         startup stages
+     */
+    public static long millisSinceStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
     public static void openURLInBrowser(final String url) {
         LOGGER.info("Open Browser URL {}", url);
         try {
@@ -87,10 +99,14 @@ public final class LsGuiUtils {
     }
 
     public static void addChannelToService(final String channel, final IService service) {
-        if (TwitchUtils.isTwitchService(service) && !"".equals(channel)) {
-            if (TwitchAPIClient.getInstance().channelExists(channel)) {
-                service.addChannel(channel);
-            }
+        if (TwitchUtils.isTwitchService(service) && ((TwitchService) service).containsChannel(channel)) {
+            LOGGER.debug("{} is already in the list", channel);
+        } else if (TwitchUtils.isTwitchService(service) && !"".equals(channel)) {
+            TaskScheduler.getInstance().submit(Priority.USER, () -> {
+                if (TwitchAPIClient.getInstance().channelExists(channel)) {
+                    Platform.runLater(() -> service.addChannel(channel));
+                }
+            });
         } else {
             service.addChannel(channel);
         }
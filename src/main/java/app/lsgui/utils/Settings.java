@@ -27,6 +27,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
@@ -66,12 +67,23 @@ public final class Settings {
     private static final long TIMEOUT = 5000L;
     private static final int DEFAULT_GAMES_TO_LOAD = 20;
     private static final int DEFAULT_CHANNELS_TO_LOAD = 20;
+    private static final int DEFAULT_BACKGROUND_TASKS = 4;
+    private static final int DEFAULT_CONNECTIONS_PER_DESTINATION = 8;
+    private static final int DEFAULT_IDLE_TIMEOUT = 60000;
+    private static final int DEFAULT_CONNECT_TIMEOUT = 10000;
+    private static final int DEFAULT_READ_TIMEOUT = 15000;
     private static final String TWITCH_USER_STRING = "twitchusername";
     private static final String TWITCH_OAUTH_STRING = "twitchoauth";
     private static final String TWITCH_SORT = "twitchsorting";
     private static final String PATH = "recordingpath";
     private static final String CHANNELS_LOAD = "load_max_channels";
     private static final String GAMES_LOAD = "load_max_games";
+    private static final String BACKGROUND_TASKS = "max_background_tasks";
+    private static final String HTTP_CONNECTIONS = "http_max_connections_per_destination";
+    private static final String HTTP_IDLE_TIMEOUT = "http_idle_timeout";
+    private static final String HTTP_CONNECT_TIMEOUT = "http_connect_timeout";
+    private static final String HTTP_READ_TIMEOUT = "http_read_timeout";
+    private static final String HTTP_KEEP_ALIVE = "http_keep_alive";
     private static final String SERVICE_NAME = "serviceName";
     private static final String SERVICE_URL = "serviceURL";
     private static final String MINIMIZE_TO_TRAY_STRING = "minimizetotray";
@@ -95,6 +107,13 @@ public final class Settings {
     private StringProperty twitchOAuth = new SimpleStringProperty();
     private IntegerProperty maxGamesLoad = new SimpleIntegerProperty();
     private IntegerProperty maxChannelsLoad = new SimpleIntegerProperty();
+    private IntegerProperty maxBackgroundTasks = new SimpleIntegerProperty(DEFAULT_BACKGROUND_TASKS);
+    private IntegerProperty maxConnectionsPerDestination = new SimpleIntegerProperty(
+            DEFAULT_CONNECTIONS_PER_DESTINATION);
+    private IntegerProperty idleTimeout = new SimpleIntegerProperty(DEFAULT_IDLE_TIMEOUT);
+    private IntegerProperty connectTimeout = new SimpleIntegerProperty(DEFAULT_CONNECT_TIMEOUT);
+    private IntegerProperty readTimeout = new SimpleIntegerProperty(DEFAULT_READ_TIMEOUT);
+    private BooleanProperty keepAlive = new SimpleBooleanProperty(true);
     private StringProperty liveStreamerExePath = new SimpleStringProperty();
     private StringProperty quality = new SimpleStringProperty(DEFAULT_QUALITY);
     private StringProperty recordingPath = new SimpleStringProperty();
@@ -152,6 +171,17 @@ public final class Settings {
         this.maxChannelsProperty()
                 .setValue(JsonUtils.getIntSafe(settings.get(CHANNELS_LOAD), DEFAULT_CHANNELS_TO_LOAD));
         this.maxGamesProperty().setValue(JsonUtils.getIntSafe(settings.get(GAMES_LOAD), DEFAULT_GAMES_TO_LOAD));
+        this.maxBackgroundTasksProperty()
+                .setValue(JsonUtils.getIntSafe(settings.get(BACKGROUND_TASKS), DEFAULT_BACKGROUND_TASKS));
+        this.maxConnectionsPerDestinationProperty().setValue(
+                JsonUtils.getIntSafe(settings.get(HTTP_CONNECTIONS), DEFAULT_CONNECTIONS_PER_DESTINATION));
+        this.idleTimeoutProperty()
+                .setValue(JsonUtils.getIntSafe(settings.get(HTTP_IDLE_TIMEOUT), DEFAULT_IDLE_TIMEOUT));
+        this.connectTimeoutProperty()
+                .setValue(JsonUtils.getIntSafe(settings.get(HTTP_CONNECT_TIMEOUT), DEFAULT_CONNECT_TIMEOUT));
+        this.readTimeoutProperty()
+                .setValue(JsonUtils.getIntSafe(settings.get(HTTP_READ_TIMEOUT), DEFAULT_READ_TIMEOUT));
+        this.keepAliveProperty().setValue(JsonUtils.getBooleanSafe(settings.get(HTTP_KEEP_ALIVE), true));
         this.qualityProperty().setValue(JsonUtils.getStringSafe(settings.get(QUALITY_STRING), DEFAULT_QUALITY));
         this.recordingPathProperty()
                 .setValue(JsonUtils.getStringSafe(settings.get(PATH), System.getProperty("user.home")));
@@ -177,10 +207,11 @@ public final class Settings {
             }
 
             final JsonArray channels = serviceJson.get("channels").getAsJsonArray();
+            final List<String> channelNames = new ArrayList<>(channels.size());
             for (int e = 0; e < channels.size(); e++) {
-                final String channel = channels.get(e).getAsString();
-                service.addChannel(channel);
+                channelNames.add(channels.get(e).getAsString());
             }
+            service.addChannels(channelNames);
             this.services.get().add(service);
         }
     }
@@ -194,6 +225,12 @@ public final class Settings {
         generalSettings.addProperty(PATH, this.recordingPathProperty().get());
         generalSettings.addProperty(CHANNELS_LOAD, this.maxChannelsProperty().get());
         generalSettings.addProperty(GAMES_LOAD, this.maxGamesProperty().get());
+        generalSettings.addProperty(BACKGROUND_TASKS, this.maxBackgroundTasksProperty().get());
+        generalSettings.addProperty(HTTP_CONNECTIONS, this.maxConnectionsPerDestinationProperty().get());
+        generalSettings.addProperty(HTTP_IDLE_TIMEOUT, this.idleTimeoutProperty().get());
+        generalSettings.addProperty(HTTP_CONNECT_TIMEOUT, this.connectTimeoutProperty().get());
+        generalSettings.addProperty(HTTP_READ_TIMEOUT, this.readTimeoutProperty().get());
+        generalSettings.addProperty(HTTP_KEEP_ALIVE, this.keepAliveProperty().get());
         generalSettings.addProperty(MINIMIZE_TO_TRAY_STRING, this.minimizeToTrayProperty().get());
         generalSettings.addProperty(WINDOWSTYLE_STRING, this.windowStyleProperty().get());
         generalSettings.addProperty(EXEPATH_STRING, this.livestreamerPathProperty().get());
@@ -281,6 +318,38 @@ public final class Settings {
         return this.maxChannelsLoad;
     }
 
+    public IntegerProperty maxBackgroundTasksProperty() {
+        return this.maxBackgroundTasks;
+    }
+
+    public IntegerProperty maxConnectionsPerDestinationProperty() {
+        return this.maxConnectionsPerDestination;
+    }
+
+    /**
+     * @return how long an unused pooled connection is kept open, in
+     *         milliseconds
+     */
+    public IntegerProperty idleTimeoutProperty() {
+        return this.idleTimeout;
+    }
+
+    public IntegerProperty connectTimeoutProperty() {
+        return this.connectTimeout;
+    }
+
+    /**
+     * @return how long a request may wait for data from the server, in
+     *         milliseconds
+     */
+    public IntegerProperty readTimeoutProperty() {
+        return this.readTimeout;
+    }
+
+    public BooleanProperty keepAliveProperty() {
+        return this.keepAlive;
+    }
+
     public BooleanProperty minimizeToTrayProperty() {
         return this.minimizeToTray;
     }
@@ -0,0 +1,171 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs all network and process work of the application on a bounded number of
+ * threads. Queued tasks are started by {@link Priority}, tasks of the same
+ * priority in the order they were submitted.
+ */
+public final class TaskScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskScheduler.class);
+    private static final long KEEP_ALIVE_SECONDS = 30L;
+    private static final BooleanSupplier NEVER_OBSOLETE = () -> false;
+
+    public enum Priority {
+        /** Work the user is waiting for, e.g. opening a browser tab */
+        USER,
+        /** Periodic refreshes of the channel list */
+        REFRESH,
+        /** Checks for a new version of the application */
+        UPDATE_CHECK
+    }
+
+    private static TaskScheduler instance;
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private TaskScheduler(final int maxConcurrentTasks) {
+        final int poolSize = Math.max(1, maxConcurrentTasks);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(), new WorkerThreadFactory());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static synchronized TaskScheduler getInstance() {
+        if (instance == null) {
+            final Settings settings = Settings.getInstance();
+            instance = new TaskScheduler(settings.maxBackgroundTasksProperty().get());
+            settings.maxBackgroundTasksProperty().addListener(
+                    (observable, oldValue, newValue) -> instance.setMaxConcurrentTasks(newValue.intValue()));
+        }
+        return instance;
+    }
+
+    public synchronized void setMaxConcurrentTasks(final int maxConcurrentTasks) {
+        final int poolSize = Math.max(1, maxConcurrentTasks);
+        LOGGER.debug("Run up to {} background tasks at once", poolSize);
+        if (poolSize > this.executor.getMaximumPoolSize()) {
+            this.executor.setMaximumPoolSize(poolSize);
+            this.executor.setCorePoolSize(poolSize);
+        } else {
+            this.executor.setCorePoolSize(poolSize);
+            this.executor.setMaximumPoolSize(poolSize);
+        }
+    }
+
+    public Future<?> submit(final Priority priority, final Runnable task) {
+        return this.submit(priority, Executors.callable(task), NEVER_OBSOLETE);
+    }
+
+    /**
+     * Queues the task with the given priority. When a worker picks the task up
+     * and isObsolete returns true, e.g. because its target window was closed,
+     * the task is cancelled instead of run.
+     */
+    public <T> Future<T> submit(final Priority priority, final Callable<T> task, final BooleanSupplier isObsolete) {
+        final PrioritizedTask<T> prioritizedTask = new PrioritizedTask<>(task, priority,
+                this.sequence.getAndIncrement(), isObsolete);
+        this.executor.execute(prioritizedTask);
+        return prioritizedTask;
+    }
+
+    /**
+     * @return an Executor for JavaFX Services which queues with the given
+     *         priority. Tasks cancelled while queued are skipped.
+     */
+    public Executor executor(final Priority priority) {
+        return runnable -> this.submit(priority, Executors.callable(runnable),
+                () -> runnable instanceof Future && ((Future<?>) runnable).isCancelled());
+    }
+
+    public void shutdown() {
+        LOGGER.debug("Shutdown TaskScheduler");
+        this.executor.shutdownNow();
+    }
+
+    private static final class PrioritizedTask<T> extends FutureTask<T> implements Comparable<PrioritizedTask<?>> {
+
+        private final Priority priority;
+        private final long sequence;
+        private final BooleanSupplier isObsolete;
+
+        PrioritizedTask(final Callable<T> callable, final Priority priority, final long sequence,
+                final BooleanSupplier isObsolete) {
+            super(callable);
+            this.priority = priority;
+            this.sequence = sequence;
+            this.isObsolete = isObsolete;
+        }
+
+        @Override
+        public void run() {
+            if (this.isObsolete.getAsBoolean()) {
+                LOGGER.trace("Skip obsolete {} task", this.priority);
+                this.cancel(false);
+                return;
+            }
+            super.run();
+        }
+
+        @Override
+        public int compareTo(final PrioritizedTask<?> other) {
+            final int result = this.priority.compareTo(other.priority);
+            if (result != 0) {
+                return result;
+            }
+            return Long.compare(this.sequence, other.sequence);
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "lsgui-worker-" + this.threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
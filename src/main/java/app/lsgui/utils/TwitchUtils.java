@@ -27,27 +27,22 @@ import java.awt.Desktop;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.time.ZoneId;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
 import org.controlsfx.control.Notifications;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-
 import app.lsgui.gui.chat.ChatWindow;
 import app.lsgui.model.IChannel;
 import app.lsgui.model.IService;
 import app.lsgui.model.twitch.TwitchChannel;
 import app.lsgui.model.twitch.TwitchService;
+import app.lsgui.remote.twitch.TwitchStream;
 import javafx.beans.property.ListProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -56,16 +51,16 @@ import javafx.util.Duration;
 
 public final class TwitchUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(TwitchUtils.class);
-    private static final ZoneOffset OFFSET = ZoneOffset.ofHours(0);
-    private static final String PREFIX = "GMT";
-    private static final ZoneId GMT = ZoneId.ofOffset(PREFIX, OFFSET);
-    private static final DateTimeFormatter DTF = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss'Z'").withZone(GMT);
-    private static final String STREAM = "stream";
     private static final String CHANNEL_IS_OFFLINE = "Channel is offline";
-    public static final String NO_QUALITIES = "Error fetching Quality Options!";
     public static final Image DEFAULT_LOGO = new Image(
             TwitchUtils.class.getClassLoader().getResource("default_channel.png").toExternalForm());
     private static final String TWITCH_CHAT_TEMPLATE = "https://www.twitch.tv/%s/chat";
+    private static final long PREVIEW_MAX_AGE = TimeUnit.MINUTES.toMillis(5);
+    public static final int THUMBNAIL_WIDTH = 150;
+    private static final int BOX_ART_HEIGHT = 210;
+    private static final int PREVIEW_THUMBNAIL_HEIGHT = 84;
+    private static final int PREVIEW_LARGE_WIDTH = 480;
+    private static final int PREVIEW_LARGE_HEIGHT = 270;
 
     private TwitchUtils() {
     }
@@ -95,6 +90,13 @@ public final class TwitchUtils {
         return "rgb(" + r + "," + g + "," + b + ")";
     }
 
+    public static String normalizeChannelName(final String channelName) {
+        if (channelName == null) {
+            return "";
+        }
+        return channelName.trim().toLowerCase(Locale.ENGLISH);
+    }
+
     public static boolean isTwitchChannel(final IChannel channel) {
         return channel instanceof TwitchChannel;
     }
@@ -167,70 +169,75 @@ public final class TwitchUtils {
         }
     }
 
-    public static TwitchChannel constructTwitchChannel(final JsonObject data, final String name,
+    /**
+     * Creates a channel from the decoded stream, or an offline channel if
+     * stream is null or incomplete.
+     */
+    public static TwitchChannel constructTwitchChannel(final TwitchStream stream, final String name,
             final boolean isBrowser) {
         LOGGER.trace("Create TwitchChannel '{}'", name);
         final TwitchChannel channel = new TwitchChannel();
         channel.setBrowser(isBrowser);
-        final JsonElement streamElement = data.get(STREAM);
-        if (streamElement != null && !streamElement.isJsonNull()) {
-            final JsonObject streamObject = streamElement.getAsJsonObject();
-            if (isStreamObjectValid(streamObject)) {
-                setData(channel, streamObject, name);
-            }
-        } else {
-            setData(channel, new JsonObject(), name);
-        }
-
-        return channel;
-    }
-
-    private static boolean isStreamObjectValid(final JsonObject streamObject) {
-        return streamObject != null && !streamObject.get("channel").isJsonNull()
-                && !streamObject.get("preview").isJsonNull() && !streamObject.isJsonNull();
-    }
-
-    private static void setData(final TwitchChannel channel, final JsonObject channelObject, final String name) {
-        if (!channelObject.equals(new JsonObject())) {
-            setOnlineData(channel, channelObject);
+        if (stream != null && stream.isComplete()) {
+            setOnlineData(channel, stream);
         } else {
             setOfflineData(channel, name);
         }
+        return channel;
     }
 
-    private static void setOnlineData(final TwitchChannel channel, final JsonObject channelObject) {
-        final JsonObject channelJson = channelObject.get("channel").getAsJsonObject();
-        final JsonObject previewJson = channelObject.get("preview").getAsJsonObject();
-        channel.getId().set(JsonUtils.getIntegerIfNotNull("_id", channelJson));
-        channel.getName().set(JsonUtils.getStringIfNotNull("name", channelJson));
-        channel.displayNameProperty().set(JsonUtils.getStringIfNotNull("display_name", channelJson));
-        channel.getLogoURL().set(JsonUtils.getStringIfNotNull("logo", channelJson));
-        channel.isPartneredProperty().set(JsonUtils.getBooleanIfNotNull("partner", channelJson));
-        channel.getPreviewUrlLarge().set(JsonUtils.getStringIfNotNull("large", previewJson));
-        channel.getPreviewUrlMedium().set(JsonUtils.getStringIfNotNull("medium", previewJson));
-        channel.getGame().set(JsonUtils.getStringIfNotNull("game", channelObject));
-        channel.getTitle().set(JsonUtils.getStringIfNotNull("status", channelJson));
-        final String createdAt = JsonUtils.getStringIfNotNull("created_at", channelObject);
-        channel.getUptime().set(calculateUptime(createdAt));
-        channel.getViewers().set(JsonUtils.getIntegerIfNotNull("viewers", channelObject));
+    /**
+     * Applies the snapshot to the properties of the channel. Properties only
+     * notify their listeners if the value differs and the qualities are only
+     * replaced when they actually changed.
+     */
+    public static void setOnlineData(final TwitchChannel channel, final TwitchStream stream) {
+        channel.getId().set((int) stream.getId());
+        channel.getName().set(stream.getName());
+        channel.displayNameProperty().set(stream.getDisplayName());
+        channel.getLogoURL().set(stream.getLogo());
+        channel.isPartneredProperty().set(stream.isPartnered());
+        channel.getPreviewUrlLarge().set(stream.getPreviewLarge());
+        channel.getPreviewUrlMedium().set(stream.getPreviewMedium());
+        channel.getGame().set(stream.getGame());
+        channel.getTitle().set(stream.getTitle());
+        channel.getUptime().set(Math.max(0L, System.currentTimeMillis() - stream.getStartedAt()));
+        channel.getViewers().set(stream.getViewers());
         channel.isOnline().set(true);
-        channel.getIsPlaylist().set(JsonUtils.getBooleanIfNotNull("is_playlist", channelObject));
-        channel.getPreviewImageLarge().set(new Image(channel.getPreviewUrlLarge().get(), true));
-        channel.getPreviewImageMedium().set(new Image(channel.getPreviewUrlMedium().get(), true));
+        channel.getIsPlaylist().set(stream.isPlaylist());
+        if (!channel.isBrowser()) {
+            channel.getPreviewImageLarge().set(ImageCache.getInstance().getImage(channel.getPreviewUrlLarge().get(),
+                    PREVIEW_LARGE_WIDTH, PREVIEW_LARGE_HEIGHT, PREVIEW_MAX_AGE));
+        }
         channel.getUptimeString().set(buildUptimeString(channel.getUptime().get()));
         channel.getViewersString().set(Integer.toString(channel.getViewers().get()));
-        channel.getAvailableQualities().clear();
-        if (!channel.isBrowser()) {
-            final List<String> availableQualities;
-            if (channel.isPartneredProperty().get()) {
-                availableQualities = TwitchUtils.getStreamQualitiesForPartnered();
-            } else {
-                availableQualities = TwitchUtils.getStreamQualities();
-            }
-            channel.getAvailableQualities().addAll(availableQualities);
+        final List<String> availableQualities;
+        if (channel.isBrowser()) {
+            availableQualities = Collections.emptyList();
+        } else if (channel.isPartneredProperty().get()) {
+            availableQualities = TwitchUtils.getStreamQualitiesForPartnered();
+        } else {
+            availableQualities = TwitchUtils.getStreamQualities();
+        }
+        if (!channel.getAvailableQualities().equals(availableQualities)) {
+            channel.getAvailableQualities().setAll(availableQualities);
         }
     }
 
+    /**
+     * @return the medium stream preview decoded at the size of a browser tile
+     */
+    public static Image loadPreviewThumbnail(final String url) {
+        return ImageCache.getInstance().getImage(url, THUMBNAIL_WIDTH, PREVIEW_THUMBNAIL_HEIGHT, PREVIEW_MAX_AGE);
+    }
+
+    /**
+     * @return the box art of a game decoded at the size of a browser tile
+     */
+    public static Image loadBoxArt(final String url) {
+        return ImageCache.getInstance().getImage(url, THUMBNAIL_WIDTH, BOX_ART_HEIGHT, 0L);
+    }
+
     public static void setOfflineData(final TwitchChannel channel, final String name) {
         channel.getId().setValue(0);
         channel.getName().set(name);
@@ -245,14 +252,9 @@ public final class TwitchUtils {
         channel.isOnline().set(false);
         channel.getIsPlaylist().set(false);
         channel.getPreviewImageLarge().set(DEFAULT_LOGO);
-        channel.getAvailableQualities().clear();
-        channel.getAvailableQualities().add(CHANNEL_IS_OFFLINE);
-    }
-
-    private static long calculateUptime(final String createdAt) {
-        final ZonedDateTime nowDate = ZonedDateTime.now(GMT);
-        final ZonedDateTime startDate = ZonedDateTime.parse(createdAt, DTF);
-        return startDate.until(nowDate, ChronoUnit.MILLIS);
+        if (!channel.getAvailableQualities().equals(Collections.singletonList(CHANNEL_IS_OFFLINE))) {
+            channel.getAvailableQualities().setAll(CHANNEL_IS_OFFLINE);
+        }
     }
 
     public static String buildUptimeString(final Long uptime) {
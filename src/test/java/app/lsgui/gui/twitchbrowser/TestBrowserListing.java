@@ -0,0 +1,143 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.gui.twitchbrowser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import app.lsgui.gui.twitchbrowser.BrowserListing.FilterChange;
+
+public class TestBrowserListing {
+
+    private static final List<String> ITEMS = Arrays.asList("Alpha", "Alpine", "Beta", "Gamma");
+
+    private static BrowserListing<String> listing() {
+        return new BrowserListing<>(item -> item.toLowerCase(Locale.ENGLISH));
+    }
+
+    @Test
+    public void testNarrowingFilter() {
+        final BrowserListing<String> listing = listing();
+        Assert.assertEquals("any filter narrows the empty one", FilterChange.NARROWED, listing.setFilter("a"));
+        Assert.assertEquals(FilterChange.UNCHANGED, listing.setFilter(" A "));
+        Assert.assertEquals(FilterChange.NARROWED, listing.setFilter("al"));
+        Assert.assertEquals(Arrays.asList("Alpha", "Alpine"), listing.matching(ITEMS));
+        Assert.assertEquals(FilterChange.NARROWED, listing.setFilter("alpi"));
+        Assert.assertEquals(Collections.singletonList("Alpine"), listing.matching(ITEMS));
+    }
+
+    @Test
+    public void testWideningFilter() {
+        final BrowserListing<String> listing = listing();
+        listing.setFilter("alpi");
+        Assert.assertEquals(FilterChange.CHANGED, listing.setFilter("al"));
+        Assert.assertEquals(Arrays.asList("Alpha", "Alpine"), listing.matching(ITEMS));
+        Assert.assertEquals(FilterChange.CHANGED, listing.setFilter("ma"));
+        Assert.assertEquals(Collections.singletonList("Gamma"), listing.matching(ITEMS));
+        Assert.assertEquals(FilterChange.CHANGED, listing.setFilter(null));
+        Assert.assertEquals(ITEMS, listing.matching(ITEMS));
+    }
+
+    @Test
+    public void testFilterKeysAreCached() {
+        final AtomicInteger computedKeys = new AtomicInteger();
+        final BrowserListing<String> listing = new BrowserListing<>(item -> {
+            computedKeys.incrementAndGet();
+            return item.toLowerCase(Locale.ENGLISH);
+        });
+        listing.setFilter("a");
+        listing.matching(ITEMS);
+        listing.setFilter("al");
+        listing.matching(ITEMS);
+        Assert.assertEquals(ITEMS.size(), computedKeys.get());
+        listing.clearFilterKeys();
+        listing.matching(ITEMS);
+        Assert.assertEquals(2 * ITEMS.size(), computedKeys.get());
+    }
+
+    @Test
+    public void testDuplicatesAcrossPages() {
+        final BrowserListing<String> listing = listing();
+        final List<String> shown = new ArrayList<>(Arrays.asList("Alpha", "Beta"));
+        listing.firstPage(shown);
+        // The listing shifted by one, Beta is returned again
+        final List<String> nextPage = Arrays.asList(new String("Beta"), "Gamma", "gamma");
+        final List<String> newItems = listing.nextPage(shown, nextPage);
+        Assert.assertEquals("duplicates within and across pages are skipped", Collections.singletonList("Gamma"),
+                newItems);
+        Assert.assertEquals("the offset counts every item of the page", 5, listing.getNextOffset());
+        Assert.assertTrue(listing.hasMoreItems());
+    }
+
+    @Test
+    public void testEndOfListing() {
+        final BrowserListing<String> listing = listing();
+        listing.firstPage(Arrays.asList("Alpha", "Beta"));
+        Assert.assertTrue(listing.isNearEnd(false, 0D, 0D));
+        Assert.assertTrue(listing.nextPage(Arrays.asList("Alpha", "Beta"), Collections.emptyList()).isEmpty());
+        Assert.assertFalse("an empty page, unlike a failed one, ends the listing", listing.hasMoreItems());
+        Assert.assertEquals(2, listing.getNextOffset());
+        Assert.assertFalse(listing.isNearEnd(false, 0D, 0D));
+        Assert.assertFalse(listing.isNearEnd(true, 1D, 1D));
+    }
+
+    @Test
+    public void testFailedPageIsRetried() {
+        final BrowserListing<String> listing = listing();
+        final List<String> shown = Arrays.asList("Alpha", "Beta");
+        listing.firstPage(shown);
+        final int offset = listing.getNextOffset();
+        // A failed load delivers no page, the listing is left untouched
+        Assert.assertTrue("the next scroll requests the page again", listing.isNearEnd(true, 0.9D, 1D));
+        Assert.assertEquals(offset, listing.getNextOffset());
+        Assert.assertEquals(Collections.singletonList("Gamma"), listing.nextPage(shown, Arrays.asList("Gamma")));
+        Assert.assertEquals(offset + 1, listing.getNextOffset());
+        Assert.assertTrue(listing.hasMoreItems());
+    }
+
+    @Test
+    public void testEmptyFirstPage() {
+        final BrowserListing<String> listing = listing();
+        listing.firstPage(Collections.emptyList());
+        Assert.assertFalse(listing.hasMoreItems());
+        Assert.assertEquals(0, listing.getNextOffset());
+    }
+
+    @Test
+    public void testNearEndPosition() {
+        final BrowserListing<String> listing = listing();
+        listing.firstPage(ITEMS);
+        Assert.assertFalse(listing.isNearEnd(true, 0.79D, 1D));
+        Assert.assertTrue(listing.isNearEnd(true, 0.8D, 1D));
+        Assert.assertTrue("all items fit on the screen", listing.isNearEnd(false, 0D, 1D));
+    }
+
+}
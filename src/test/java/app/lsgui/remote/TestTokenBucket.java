@@ -0,0 +1,81 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.remote;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestTokenBucket {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    public void testBurstUpToCapacity() {
+        final TokenBucket bucket = new TokenBucket(3, 3000L, START);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals("token " + i + " is available", 0L, bucket.tryAcquire(START));
+        }
+        Assert.assertEquals("next token after one refill step", 1000L, bucket.tryAcquire(START));
+    }
+
+    @Test
+    public void testRefill() {
+        final TokenBucket bucket = new TokenBucket(2, 2000L, START);
+        bucket.tryAcquire(START);
+        bucket.tryAcquire(START);
+        Assert.assertEquals(0L, bucket.tryAcquire(START + 1000L));
+        Assert.assertEquals("never more than capacity", 2, bucket.getAvailableTokens(START + 60_000L));
+    }
+
+    @Test
+    public void testServerQuota() {
+        final TokenBucket bucket = new TokenBucket(30, 60_000L, START);
+        bucket.updateRemaining(0, START + 5000L, START);
+        Assert.assertEquals("blocked until reset", 5000L, bucket.tryAcquire(START));
+        Assert.assertEquals(0L, bucket.tryAcquire(START + 5000L));
+    }
+
+    @Test
+    public void testServerLimit() {
+        final TokenBucket bucket = new TokenBucket(2, 2000L, START);
+        bucket.tryAcquire(START);
+        bucket.tryAcquire(START);
+        bucket.updateCapacity(4, START);
+        Assert.assertEquals("raised limit grants the difference", 2, bucket.getAvailableTokens(START));
+        bucket.tryAcquire(START);
+        bucket.tryAcquire(START);
+        Assert.assertEquals("refill follows the new limit", 500L, bucket.tryAcquire(START));
+        bucket.updateCapacity(1, START + 500L);
+        Assert.assertEquals("lowered limit caps the tokens", 1, bucket.getAvailableTokens(START + 60_000L));
+    }
+
+    @Test
+    public void testRetryAfterBlocks() {
+        final TokenBucket bucket = new TokenBucket(30, 60_000L, START);
+        bucket.blockUntil(START + 2000L);
+        bucket.blockUntil(START + 1000L);
+        Assert.assertEquals("earlier block does not shorten the pause", 1500L, bucket.tryAcquire(START + 500L));
+    }
+
+}
@@ -0,0 +1,175 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.remote.twitch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import app.lsgui.model.twitch.TwitchChannel;
+
+public class TestChannelPollSchedule {
+
+    private static final long START = 1_000_000_000L;
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private static TwitchChannel channel(final String name, final boolean online) {
+        final TwitchChannel channel = new TwitchChannel();
+        channel.getName().set(name);
+        channel.isOnline().set(online);
+        return channel;
+    }
+
+    @Test
+    public void testNeverPolledChannelsAreDue() {
+        final ChannelPollSchedule schedule = new ChannelPollSchedule(10);
+        final List<TwitchChannel> channels = Arrays.asList(channel("a", false), channel("b", true));
+        Assert.assertEquals(channels, schedule.selectDue(channels, START));
+        Assert.assertEquals(0L, schedule.getInterval(channels.get(0), START));
+    }
+
+    @Test
+    public void testOfflineIntervalDoublesUpToCeiling() {
+        final ChannelPollSchedule schedule = new ChannelPollSchedule(10);
+        final TwitchChannel channel = channel("a", false);
+        final long[] expected = { 120, 240, 480, 900, 900 };
+        long now = START;
+        for (final long interval : expected) {
+            schedule.polled(channel, now);
+            Assert.assertEquals(interval, schedule.getInterval(channel, now));
+            now += TimeUnit.SECONDS.toMillis(interval);
+        }
+    }
+
+    @Test
+    public void testLongOfflineChannelStaysAtCeiling() {
+        final ChannelPollSchedule schedule = new ChannelPollSchedule(10);
+        final TwitchChannel channel = channel("a", false);
+        final List<TwitchChannel> channels = Arrays.asList(channel);
+        long now = START;
+        for (int i = 0; i < 200; i++) {
+            schedule.polled(channel, now);
+            now += HOUR;
+        }
+        schedule.polled(channel, now);
+        Assert.assertEquals(900L, schedule.getInterval(channel, now));
+        Assert.assertTrue("not due right after a poll", schedule.selectDue(channels, now + 1000L).isEmpty());
+        Assert.assertEquals(channels, schedule.selectDue(channels, now + TimeUnit.SECONDS.toMillis(900)));
+    }
+
+    @Test
+    public void testOnlineAndChangedIntervals() {
+        final ChannelPollSchedule schedule = new ChannelPollSchedule(10);
+        final TwitchChannel channel = channel("a", true);
+        schedule.polled(channel, START);
+        Assert.assertEquals("first poll is no change", 60L, schedule.getInterval(channel, START));
+        channel.isOnline().set(false);
+        schedule.polled(channel, START + 1000L);
+        Assert.assertEquals("recent change", 20L, schedule.getInterval(channel, START + 1000L));
+        Assert.assertEquals("change is old", 60L, schedule.getInterval(channel, START + HOUR));
+    }
+
+    @Test
+    public void testReminderIsFast() {
+        final ChannelPollSchedule schedule = new ChannelPollSchedule(10);
+        final TwitchChannel channel = channel("a", false);
+        channel.setReminder(true);
+        schedule.polled(channel, START);
+        Assert.assertEquals(20L, schedule.getInterval(channel, START));
+    }
+
+    @Test
+    public void testOrdering() {
+        final TwitchChannel slightlyOverdue = channel("slightly", true);
+        final TwitchChannel mostOverdue = channel("most", true);
+        final TwitchChannel reminder = channel("reminder", true);
+        final TwitchChannel fresh = channel("fresh", true);
+        final TwitchChannel notDue = channel("notdue", true);
+        final List<TwitchChannel> channels = new ArrayList<>(
+                Arrays.asList(slightlyOverdue, notDue, mostOverdue, reminder, fresh));
+        final long now = START + TimeUnit.SECONDS.toMillis(61);
+        final ChannelPollSchedule schedule = new ChannelPollSchedule(10);
+        schedule.polled(slightlyOverdue, START);
+        schedule.polled(mostOverdue, START - HOUR);
+        schedule.polled(reminder, START);
+        schedule.polled(notDue, now);
+        reminder.setReminder(true);
+        Assert.assertEquals(Arrays.asList(fresh, reminder, mostOverdue, slightlyOverdue),
+                schedule.selectDue(channels, now));
+    }
+
+    @Test
+    public void testBudgetCutsLeastOverdue() {
+        final TwitchChannel slightlyOverdue = channel("slightly", false);
+        final TwitchChannel mostOverdue = channel("most", false);
+        final TwitchChannel fresh = channel("fresh", false);
+        final List<TwitchChannel> channels = Arrays.asList(slightlyOverdue, mostOverdue, fresh);
+        final ChannelPollSchedule schedule = new ChannelPollSchedule(2);
+        schedule.polled(slightlyOverdue, START);
+        schedule.polled(mostOverdue, START - HOUR);
+        final long now = START + HOUR;
+        Assert.assertEquals(Arrays.asList(fresh, mostOverdue), schedule.selectDue(channels, now));
+    }
+
+    @Test
+    public void testFailedPollsBackOff() {
+        final ChannelPollSchedule schedule = new ChannelPollSchedule(10);
+        final TwitchChannel channel = channel("a", true);
+        channel.setReminder(true);
+        final List<TwitchChannel> channels = Arrays.asList(channel);
+        final long[] expected = { 60, 120, 240, 480, 900, 900 };
+        long now = START;
+        for (final long interval : expected) {
+            schedule.failed(channel, now);
+            Assert.assertEquals(interval, schedule.getInterval(channel, now));
+            Assert.assertTrue("not due again on the next tick", schedule.selectDue(channels, now + 10_000L).isEmpty());
+            now += TimeUnit.SECONDS.toMillis(interval);
+        }
+        schedule.polled(channel, now);
+        Assert.assertEquals("a successful poll ends the backoff", 20L, schedule.getInterval(channel, now));
+    }
+
+    @Test
+    public void testFailedPollIsNoStateChange() {
+        final ChannelPollSchedule schedule = new ChannelPollSchedule(10);
+        final TwitchChannel channel = channel("a", true);
+        schedule.failed(channel, START);
+        schedule.polled(channel, START + HOUR);
+        Assert.assertEquals(60L, schedule.getInterval(channel, START + HOUR));
+    }
+
+    @Test
+    public void testRemovedChannelsAreForgotten() {
+        final TwitchChannel channel = channel("a", false);
+        final ChannelPollSchedule schedule = new ChannelPollSchedule(10);
+        schedule.polled(channel, START);
+        schedule.selectDue(new ArrayList<>(), START);
+        Assert.assertEquals(0L, schedule.getInterval(channel, START));
+    }
+
+}
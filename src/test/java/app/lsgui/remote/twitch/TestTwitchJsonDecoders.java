@@ -0,0 +1,157 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2016 Jan-Niklas Keck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package app.lsgui.remote.twitch;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.gson.stream.JsonReader;
+
+import app.lsgui.remote.ResponseDecoder;
+
+public class TestTwitchJsonDecoders {
+
+    private static <T> T decodeFixture(final ResponseDecoder<T> decoder, final String fixture) throws IOException {
+        try (final JsonReader reader = new JsonReader(new InputStreamReader(
+                TestTwitchJsonDecoders.class.getResourceAsStream("/twitch/" + fixture), StandardCharsets.UTF_8))) {
+            return decoder.decode(reader);
+        }
+    }
+
+    private static <T> T decode(final ResponseDecoder<T> decoder, final String json) throws IOException {
+        try (final JsonReader reader = new JsonReader(new StringReader(json))) {
+            return decoder.decode(reader);
+        }
+    }
+
+    @Test
+    public void testStreams() throws IOException {
+        final List<TwitchStream> streams = decodeFixture(TwitchJsonDecoders.STREAMS, "streams.json");
+        Assert.assertEquals("entries without channel are dropped", 2, streams.size());
+
+        final TwitchStream complete = streams.get(0);
+        Assert.assertEquals(12345L, complete.getId());
+        Assert.assertEquals("FirstChannel", complete.getName());
+        Assert.assertEquals("First Channel", complete.getDisplayName());
+        Assert.assertEquals("https://example.com/logo.png", complete.getLogo());
+        Assert.assertTrue(complete.isPartnered());
+        Assert.assertEquals("Playing the test game", complete.getTitle());
+        Assert.assertEquals("Test Game", complete.getGame());
+        Assert.assertEquals(1234, complete.getViewers());
+        Assert.assertEquals(Instant.parse("2017-01-02T10:00:00Z").toEpochMilli(), complete.getStartedAt());
+        Assert.assertFalse(complete.isPlaylist());
+        Assert.assertEquals("https://example.com/large.jpg", complete.getPreviewLarge());
+        Assert.assertEquals("https://example.com/medium.jpg", complete.getPreviewMedium());
+        Assert.assertTrue(complete.isComplete());
+
+        final TwitchStream nulls = streams.get(1);
+        Assert.assertEquals("incomplete", nulls.getName());
+        Assert.assertEquals(0L, nulls.getId());
+        Assert.assertEquals("", nulls.getDisplayName());
+        Assert.assertEquals("", nulls.getLogo());
+        Assert.assertFalse(nulls.isPartnered());
+        Assert.assertEquals("", nulls.getTitle());
+        Assert.assertEquals("", nulls.getGame());
+        Assert.assertEquals(0, nulls.getViewers());
+        Assert.assertEquals(0L, nulls.getStartedAt());
+        Assert.assertEquals("", nulls.getPreviewMedium());
+        Assert.assertFalse("no preview and no start time", nulls.isComplete());
+    }
+
+    @Test
+    public void testStreamWithoutStartTimeIsIncomplete() throws IOException {
+        final List<TwitchStream> streams = decode(TwitchJsonDecoders.STREAMS,
+                "{\"streams\":[{\"preview\":{\"large\":\"l\"},\"channel\":{\"name\":\"a\"}}]}");
+        Assert.assertEquals("l", streams.get(0).getPreviewLarge());
+        Assert.assertFalse(streams.get(0).isComplete());
+    }
+
+    @Test
+    public void testStreamsWithoutListing() throws IOException {
+        Assert.assertTrue(decode(TwitchJsonDecoders.STREAMS, "{\"streams\":null}").isEmpty());
+        Assert.assertTrue(decode(TwitchJsonDecoders.STREAMS, "{}").isEmpty());
+        Assert.assertTrue(decode(TwitchJsonDecoders.STREAMS, "[]").isEmpty());
+    }
+
+    @Test
+    public void testTopGames() throws IOException {
+        final List<TwitchTopGame> games = decodeFixture(TwitchJsonDecoders.TOP_GAMES, "top_games.json");
+        Assert.assertEquals("games without name are dropped", 2, games.size());
+
+        final TwitchTopGame first = games.get(0);
+        Assert.assertEquals("First Game", first.getName());
+        Assert.assertEquals(5000, first.getViewers());
+        Assert.assertEquals(120, first.getChannels());
+        Assert.assertEquals("https://example.com/box-large.jpg", first.getBoxUrl());
+
+        final TwitchTopGame second = games.get(1);
+        Assert.assertEquals("Second Game", second.getName());
+        Assert.assertEquals(0, second.getViewers());
+        Assert.assertEquals(0, second.getChannels());
+        Assert.assertEquals("", second.getBoxUrl());
+    }
+
+    @Test
+    public void testFollows() throws IOException {
+        final TwitchFollowsPage page = decodeFixture(TwitchJsonDecoders.FOLLOWS, "follows.json");
+        Assert.assertEquals("every entry counts for paging", 4, page.getSize());
+        Assert.assertEquals(250L, page.getTotal());
+        Assert.assertEquals(Arrays.asList("FollowedOne", "followedtwo"),
+                Arrays.asList(page.getUserIds().keySet().toArray()));
+        Assert.assertEquals("11", page.getUserIds().get("FollowedOne"));
+        Assert.assertEquals("missing id", "", page.getUserIds().get("followedtwo"));
+    }
+
+    @Test
+    public void testFollowsWithoutTotal() throws IOException {
+        final TwitchFollowsPage page = decode(TwitchJsonDecoders.FOLLOWS, "{\"_total\":null,\"follows\":null}");
+        Assert.assertEquals(0, page.getSize());
+        Assert.assertEquals(-1L, page.getTotal());
+        Assert.assertTrue(page.getUserIds().isEmpty());
+    }
+
+    @Test
+    public void testUsers() throws IOException {
+        final Map<String, String> userIds = decodeFixture(TwitchJsonDecoders.USERS, "users.json");
+        Assert.assertEquals(2, userIds.size());
+        Assert.assertEquals("21", userIds.get("userone"));
+        Assert.assertEquals("numeric ids are read as text", "22", userIds.get("UserTwo"));
+    }
+
+    @Test
+    public void testUsersWithoutListing() throws IOException {
+        Assert.assertNull(decode(TwitchJsonDecoders.USERS, "{\"_total\":0}"));
+        Assert.assertTrue(decode(TwitchJsonDecoders.USERS, "{\"users\":[]}").isEmpty());
+    }
+
+}